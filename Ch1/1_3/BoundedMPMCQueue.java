@@ -0,0 +1,299 @@
+/*************************************************************************
+ *  Compilation:  javac BoundedMPMCQueue.java
+ *  Execution:    java BoundedMPMCQueue capacity itemsPerProducer
+ *  e.g. java BoundedMPMCQueue 1024 1000000
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  A bounded, fixed-capacity queue that any number of producer and
+ *  consumer threads can use at once, after Dmitry Vyukov's bounded MPMC
+ *  queue. Unlike MyResizingArrayQueue it never grows: a full queue makes
+ *  offer() fail and put() wait, which pushes back on fast producers.
+ *  main() compares throughput and latency against ArrayBlockingQueue with
+ *  1, 2, 4 and 8 producers (and as many consumers).
+ *
+ *************************************************************************/
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ *  @author Brendan Duke
+ *  Slot i holds a sequence number: i + k*capacity when it is free for the
+ *  k-th enqueue that maps to it, and one more than that once the item is
+ *  in it. A thread claims a slot by CAS on the tail (or head) counter only
+ *  when the slot's sequence number says it is ready, so producers and
+ *  consumers touching different slots never contend.
+ *  The head and tail counters are kept on separate cache lines.
+ */
+public class BoundedMPMCQueue<Item> {
+  // NOTE(brendan): 16 longs = 128 bytes, enough to keep head and tail off
+  // each other's (and the array header's) cache lines.
+  private static final int PAD = 16;
+  private static final int HEAD = PAD - 1;
+  private static final int TAIL = 2 * PAD - 1;
+  private static final int SPINS = 100; // spins before waiting starts to yield/park.
+
+  private final Item[] a;
+  private final AtomicLongArray sequence;
+  private final AtomicLongArray counters = new AtomicLongArray(3 * PAD);
+  private final int mask;
+
+  /**
+   * Initializes an empty queue that holds at most <tt>capacity</tt> items,
+   * rounded up to a power of two.
+   * @throws java.lang.IllegalArgumentException if capacity < 2
+   */
+  @SuppressWarnings("unchecked")
+  public BoundedMPMCQueue(int capacity) {
+    if(capacity < 2 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("capacity out of range");
+    }
+    int n = Integer.highestOneBit(capacity - 1) << 1;
+    a = (Item[]) new Object[n];
+    sequence = new AtomicLongArray(n);
+    for(int i = 0; i < n; ++i) {
+      sequence.set(i, i);
+    }
+    mask = n - 1;
+  }
+
+  /**
+   * Returns the maximum number of items this queue holds.
+   */
+  public int capacity() {
+    return a.length;
+  }
+
+  /**
+   * Returns the number of items in this queue. Only a snapshot if other
+   * threads are active.
+   */
+  public int size() {
+    long n = counters.get(TAIL) - counters.get(HEAD);
+    return (int) Math.max(0, Math.min(n, a.length));
+  }
+
+  /**
+   * Is this queue empty? Only a snapshot if other threads are active.
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Adds the item to this queue if there is room.
+   * @param item the item to add
+   * @return true if the item was added; false if the queue was full
+   * @throws java.lang.NullPointerException if item is null
+   */
+  public boolean offer(Item item) {
+    if(item == null) {
+      throw new NullPointerException("null item");
+    }
+    long pos = counters.get(TAIL);
+    for(;;) {
+      int i = (int) pos & mask;
+      long dif = sequence.get(i) - pos;
+      if(dif == 0) {
+        if(counters.compareAndSet(TAIL, pos, pos + 1)) {
+          a[i] = item;
+          sequence.set(i, pos + 1); // publishes a[i] to consumers.
+          return true;
+        }
+        pos = counters.get(TAIL);
+      }
+      else if(dif < 0) {
+        return false;
+      }
+      else {
+        pos = counters.get(TAIL);
+      }
+    }
+  }
+
+  /**
+   * Removes and returns the item on this queue that was least recently
+   * added, if any.
+   * @return the item, or null if the queue was empty
+   */
+  public Item poll() {
+    long pos = counters.get(HEAD);
+    for(;;) {
+      int i = (int) pos & mask;
+      long dif = sequence.get(i) - (pos + 1);
+      if(dif == 0) {
+        if(counters.compareAndSet(HEAD, pos, pos + 1)) {
+          Item item = a[i];
+          a[i] = null; // to avoid loitering
+          sequence.set(i, pos + a.length); // frees the slot for producers.
+          return item;
+        }
+        pos = counters.get(HEAD);
+      }
+      else if(dif < 0) {
+        return null;
+      }
+      else {
+        pos = counters.get(HEAD);
+      }
+    }
+  }
+
+  /**
+   * Adds the item to this queue, waiting for room if it is full.
+   * @param item the item to add
+   * @throws java.lang.InterruptedException if interrupted while waiting
+   */
+  public void put(Item item) throws InterruptedException {
+    for(int tries = 0; !offer(item); ++tries) {
+      backOff(tries);
+    }
+  }
+
+  /**
+   * Adds the item to this queue, waiting up to the given time for room.
+   * @return true if the item was added; false if the time ran out
+   * @throws java.lang.InterruptedException if interrupted while waiting
+   */
+  public boolean offer(Item item, long timeout, TimeUnit unit)
+    throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for(int tries = 0; !offer(item); ++tries) {
+      if(System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      backOff(tries);
+    }
+    return true;
+  }
+
+  /**
+   * Removes and returns the least recently added item, waiting for one if
+   * the queue is empty.
+   * @throws java.lang.InterruptedException if interrupted while waiting
+   */
+  public Item take() throws InterruptedException {
+    Item item;
+    for(int tries = 0; (item = poll()) == null; ++tries) {
+      backOff(tries);
+    }
+    return item;
+  }
+
+  /**
+   * Removes and returns the least recently added item, waiting up to the
+   * given time for one.
+   * @return the item, or null if the time ran out
+   * @throws java.lang.InterruptedException if interrupted while waiting
+   */
+  public Item poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    Item item;
+    for(int tries = 0; (item = poll()) == null; ++tries) {
+      if(System.nanoTime() - deadline >= 0) {
+        return null;
+      }
+      backOff(tries);
+    }
+    return item;
+  }
+
+  /**
+   * Removes up to <tt>max</tt> items, least recently added first, and adds
+   * them to the collection without waiting.
+   * @return the number of items removed
+   */
+  public int drainTo(Collection<? super Item> c, int max) {
+    int n = 0;
+    Item item;
+    while(n < max && (item = poll()) != null) {
+      c.add(item);
+      ++n;
+    }
+    return n;
+  }
+
+  // spin first, then yield, then park for a short while.
+  private static void backOff(int tries) throws InterruptedException {
+    if(Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    if(tries < SPINS) {
+      Thread.onSpinWait();
+    }
+    else if(tries < 2 * SPINS) {
+      Thread.yield();
+    }
+    else {
+      LockSupport.parkNanos(10000);
+    }
+  }
+
+  // NOTE(brendan): benchmark. Each producer puts M timestamps; consumers
+  // take them and add up the time each spent queued.
+  private static double[] run(final BlockingQueue<Long> abq,
+                              final BoundedMPMCQueue<Long> mpmc,
+                              int P, final int M) throws InterruptedException {
+    final long[] latency = new long[P];
+    Thread[] threads = new Thread[2 * P];
+    for(int i = 0; i < P; ++i) {
+      threads[i] = new Thread(new Runnable() {
+        public void run() {
+          try {
+            for(int j = 0; j < M; ++j) {
+              if(mpmc != null) mpmc.put(System.nanoTime());
+              else abq.put(System.nanoTime());
+            }
+          }
+          catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      });
+      final int consumer = i;
+      threads[P + i] = new Thread(new Runnable() {
+        public void run() {
+          try {
+            long sum = 0;
+            for(int j = 0; j < M; ++j) {
+              long sent = (mpmc != null) ? mpmc.take() : abq.take();
+              sum += System.nanoTime() - sent;
+            }
+            latency[consumer] = sum;
+          }
+          catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      });
+    }
+    Stopwatch timer = new Stopwatch();
+    for(Thread thread : threads) thread.start();
+    for(Thread thread : threads) thread.join();
+    double seconds = timer.elapsedTime();
+    long totalLatency = 0;
+    for(long l : latency) totalLatency += l;
+    double items = (double) P * M;
+    return new double[] { items / seconds, totalLatency / items / 1000.0 };
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    int capacity = Integer.parseInt(args[0]);
+    int M = Integer.parseInt(args[1]);
+    StdOut.printf("%9s %14s %14s %14s %14s\n", "producers",
+                  "MPMC items/s", "MPMC lat us", "ABQ items/s", "ABQ lat us");
+    for(int P = 1; P <= 8; P *= 2) {
+      double[] mine = run(null, new BoundedMPMCQueue<Long>(capacity), P, M);
+      double[] abq = run(new ArrayBlockingQueue<Long>(capacity), null, P, M);
+      StdOut.printf("%9d %14.0f %14.2f %14.0f %14.2f\n",
+                    P, mine[0], mine[1], abq[0], abq[1]);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*************************************************************************
+ *  Compilation:  javac ChannelWriter.java
+ *  Updated:      Oct. 18, 2026
+ *
+ *  An Appendable that encodes text as UTF-8 onto a WritableByteChannel
+ *  through a pair of fixed, reused buffers, so long output never has to
+ *  be held in one String.
+ *
+ *************************************************************************/
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *  @author Brendan Duke
+ *  Call flush() when done; it does not close the channel.
+ */
+public class ChannelWriter implements Appendable, Flushable {
+  private static final int BUFFER_SIZE = 8192;
+
+  private final WritableByteChannel out;
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+    .onMalformedInput(CodingErrorAction.REPLACE)
+    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+  private final ByteBuffer bytes = ByteBuffer.allocate(4 * BUFFER_SIZE);
+  private final char[] digits = new char[20];
+
+  public ChannelWriter(WritableByteChannel out) {
+    this.out = out;
+  }
+
+  public ChannelWriter append(CharSequence csq) throws IOException {
+    return append(csq, 0, csq.length());
+  }
+
+  public ChannelWriter append(CharSequence csq, int start, int end)
+    throws IOException {
+    for(int i = start; i < end; ++i) {
+      append(csq.charAt(i));
+    }
+    return this;
+  }
+
+  public ChannelWriter append(char c) throws IOException {
+    if(!chars.hasRemaining()) {
+      encode();
+    }
+    chars.put(c);
+    return this;
+  }
+
+  /**
+   * Appends the decimal digits of x, without making a String.
+   */
+  public ChannelWriter append(long x) throws IOException {
+    if(x < 0) {
+      if(x == Long.MIN_VALUE) {
+        return append(Long.toString(x));
+      }
+      append('-');
+      x = -x;
+    }
+    int start = digits.length;
+    do {
+      digits[--start] = (char) ('0' + x % 10);
+      x /= 10;
+    } while(x > 0);
+    for(int i = start; i < digits.length; ++i) {
+      append(digits[i]);
+    }
+    return this;
+  }
+
+  /**
+   * Writes out everything appended so far (except half of a surrogate
+   * pair, which waits for its other half).
+   */
+  public void flush() throws IOException {
+    encode();
+    writeBytes();
+  }
+
+  // encode the buffered chars into bytes, writing bytes out when full.
+  private void encode() throws IOException {
+    chars.flip();
+    for(;;) {
+      CoderResult result = encoder.encode(chars, bytes, false);
+      if(result.isOverflow()) {
+        writeBytes();
+      }
+      else {
+        break;
+      }
+    }
+    chars.compact();
+  }
+
+  private void writeBytes() throws IOException {
+    bytes.flip();
+    while(bytes.hasRemaining()) {
+      out.write(bytes);
+    }
+    bytes.clear();
+  }
+}
@@ -1,7 +1,7 @@
 /*************************************************************************
  *  Compilation:  javac CheckPermutation.java
  *  Execution:    java CheckPermutation < input.txt
- *  Updated:      Jan. 13, 2015
+ *  Updated:      Oct. 18, 2026
  *  
  *  May require I/O library files from Sedgewicks "Algorithms".
  *  http://algs4.cs.princeton.edu/code/
@@ -28,7 +28,7 @@ public class CheckPermutation {
     // Otherwise, push the next integer in the input sequence onto the stack.
     // Stop when N-1 has been pushed.
     while(!sequence.isEmpty() && j <= sequenceSize) {
-      if(!checkStack.isEmpty() && (sequence.peek() == checkStack.peek())) {
+      if(!checkStack.isEmpty() && sequence.peek().equals(checkStack.peek())) {
         checkStack.pop();
         sequence.dequeue();
       }
@@ -39,15 +39,38 @@ public class CheckPermutation {
     return checkStack.isEmpty();
   }
 
+  /**
+   * Same as above, but on an int[] so nothing is boxed.
+   * @param sequence the permutation of 0, ..., N-1 to check
+   * @return true if the pushes and pops can produce sequence
+   */
+  public static boolean isPermutationPossible(int[] sequence) {
+    IntStack checkStack = new IntStack();
+    int N = sequence.length;
+    int j = 0;
+    for(int i = 0; i < N;) {
+      if(!checkStack.isEmpty() && sequence[i] == checkStack.peek()) {
+        checkStack.pop();
+        ++i;
+      }
+      else if(j < N) {
+        checkStack.push(j++);
+      }
+      else {
+        return false;
+      }
+    }
+    return true;
+  }
+
   // NOTE(brendan): testing
   public static void main(String[] args) {
-    Queue<Integer> sequenceQueue = new Queue<Integer>();
+    IntResizingArrayQueue sequenceQueue = new IntResizingArrayQueue();
 
     while (!StdIn.isEmpty()) {
-      Integer item = Integer.parseInt(StdIn.readString());
-      sequenceQueue.enqueue(item);
+      sequenceQueue.enqueue(Integer.parseInt(StdIn.readString()));
     }
-    if(isPermutationPossible(sequenceQueue)) {
+    if(isPermutationPossible(sequenceQueue.toArray())) {
       StdOut.println("Permutation is possible.");
     }
     else {
@@ -0,0 +1,240 @@
+/*************************************************************************
+ *  Compilation: javac ConcurrentUF.java
+ *  Execution: java ConcurrentUF numberOfSites numberOfEdges numberOfThreads
+ *  e.g. java ConcurrentUF 10000000 50000000 8
+ *  Updated: Oct. 18/26
+ *
+ *  Lock-free union-find for many threads at once.
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *************************************************************************/
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *  The <tt>ConcurrentUF</tt> class represents a union-find data structure
+ *  that any number of threads may use at the same time, without locks.
+ *
+ *  It supports the <em>union</em> and <em>find</em> operations, along with
+ *  methods for determinig whether two objects are in the same component
+ *  and the total number of components.
+ *  <p>
+ *  Parents live in an AtomicIntegerArray. A root is linked below another
+ *  root by a CAS that only succeeds if it is still a root, so concurrent
+ *  unions never lose a link. Roots are linked in a fixed random order (by
+ *  a bijective hash of the site), which keeps trees shallow in
+ *  expectation without storing ranks. <em>find</em> does path halving,
+ *  also by CAS; a failed CAS only means another thread shortened the path
+ *  first, so <em>find</em> never retries or waits.
+ *  <p>
+ *  <em>count</em> is exact once all unions have returned.
+ *  <p>
+ *  @author Brendan Duke
+ */
+public class ConcurrentUF {
+  private final AtomicIntegerArray id; // id[i] = parent of i
+  private final int N;
+  private final LongAdder unions = new LongAdder(); // successful links.
+
+  /**
+   * Initializes an empty union-find data structure with N isolated
+   * components 0 through N-1.
+   * @throws java.lang.IllegalArgumentException if N < 0
+   * @param N the number of objects
+   */
+  public ConcurrentUF(int N) {
+    if(N < 0) {
+      throw new IllegalArgumentException("N < 0");
+    }
+    this.N = N;
+    id = new AtomicIntegerArray(N);
+    for(int i = 0; i < N; ++i) {
+      id.set(i, i);
+    }
+  }
+
+  /**
+   * Returns the number of components.
+   * @return the number of components (between 1 and N)
+   */
+  public int count() {
+    return N - (int) unions.sum();
+  }
+
+  /**
+   * Returns the component identifier for the component containing site
+   * <tt>p</tt>. Only a snapshot if unions are running at the same time.
+   * @param p the integer representing one site
+   * @return the component identifier for the component containing site
+   * <tt>p</tt> @throws java.lang.IndexOutOfBoundsException unless 0 <= p < N
+   */
+  public int find(int p) {
+    for(;;) {
+      int parent = id.get(p);
+      if(parent == p) {
+        return p;
+      }
+      int grandparent = id.get(parent);
+      if(parent != grandparent) {
+        id.compareAndSet(p, parent, grandparent);
+      }
+      p = grandparent;
+    }
+  }
+
+  /**
+   * Are the two sites <tt>p</tt> and <tt>q</tt> in the same component?
+   * @param p the integer representing one site
+   * @param q the integer representing the other site
+   * @return <tt>true</tt> if the two sites <tt>p</tt> and <tt>q</tt>
+   *    are in the same component, and <tt>false</tt> otherwise
+   * @throws java.lang.IndexOutOfBoundsException unless both 0 <= p < N and
+   * 0 <= q < N
+   */
+  public boolean connected(int p, int q) {
+    for(;;) {
+      p = find(p);
+      q = find(q);
+      if(p == q) {
+        return true;
+      }
+      // NOTE(brendan): if p is still a root, p and q really were apart at
+      // the moment we read this; otherwise p was linked meanwhile, so retry.
+      if(id.get(p) == p) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Merges the component containing site<tt>p</tt> with the component
+   * containing site <tt>q</tt>.
+   * @param p the integer representing one site
+   * @param q the integer representing the other site
+   * @return <tt>true</tt> if this call merged two components
+   * @throws java.lang.IndexOutOfBoundsException unless both 0 <= p < N and
+   * 0 <= q < N
+   */
+  public boolean union(int p, int q) {
+    for(;;) {
+      int rootP = find(p);
+      int rootQ = find(q);
+      if(rootP == rootQ) {
+        return false;
+      }
+      // link the lower-priority root below the higher-priority one.
+      if(less(rootQ, rootP)) {
+        int temp = rootP;
+        rootP = rootQ;
+        rootQ = temp;
+      }
+      if(id.compareAndSet(rootP, rootP, rootQ)) {
+        unions.increment();
+        return true;
+      }
+      p = rootP;
+      q = rootQ;
+    }
+  }
+
+  // a fixed, random-looking total order on the sites.
+  private static boolean less(int p, int q) {
+    int hp = mix(p);
+    int hq = mix(q);
+    return hp < hq || (hp == hq && p < q);
+  }
+
+  // a bijective integer hash (the murmur3 finalizer).
+  private static int mix(int x) {
+    x ^= x >>> 16;
+    x *= 0x85ebca6b;
+    x ^= x >>> 13;
+    x *= 0xc2b2ae35;
+    x ^= x >>> 16;
+    return x;
+  }
+
+  // unions edges lo..hi-1, splitting the range across the pool.
+  private static class UnionTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final int CUTOFF = 1 << 16;
+
+    private final ConcurrentUF uf;
+    private final int[] from;
+    private final int[] to;
+    private final int lo;
+    private final int hi;
+
+    private UnionTask(ConcurrentUF uf, int[] from, int[] to, int lo, int hi) {
+      this.uf = uf;
+      this.from = from;
+      this.to = to;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo <= CUTOFF) {
+        for(int i = lo; i < hi; ++i) {
+          uf.union(from[i], to[i]);
+        }
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new UnionTask(uf, from, to, lo, mid),
+                new UnionTask(uf, from, to, mid, hi));
+    }
+  }
+
+  /**
+   * Unions every edge (from[i], to[i]) using the given pool.
+   */
+  public void unionAll(int[] from, int[] to, ForkJoinPool pool) {
+    pool.invoke(new UnionTask(this, from, to, 0, from.length));
+  }
+
+  /**
+   * Generates M random edges on N sites, unions them sequentially with
+   * WeightedBySizeUF and in parallel with ConcurrentUF, checks that the
+   * component counts agree, and prints the times.
+   */
+  public static void main(String[] args) {
+    int N = Integer.parseInt(args[0]);
+    int M = Integer.parseInt(args[1]);
+    int threads = Integer.parseInt(args[2]);
+    SplittableRandom random = new SplittableRandom(2015);
+    int[] from = new int[M];
+    int[] to = new int[M];
+    for(int i = 0; i < M; ++i) {
+      from[i] = random.nextInt(N);
+      to[i] = random.nextInt(N);
+    }
+
+    Stopwatch timer = new Stopwatch();
+    WeightedBySizeUF sequential =
+      new WeightedBySizeUF(N, WeightedBySizeUF.Find.HALVING);
+    for(int i = 0; i < M; ++i) {
+      sequential.union(from[i], to[i]);
+    }
+    double t1 = timer.elapsedTime();
+
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    timer = new Stopwatch();
+    ConcurrentUF parallel = new ConcurrentUF(N);
+    parallel.unionAll(from, to, pool);
+    double t2 = timer.elapsedTime();
+    pool.shutdown();
+
+    StdOut.printf("sequential: %.2f s, %d components\n", t1, sequential.count());
+    StdOut.printf("%d threads: %.2f s, %d components (%s)\n", threads, t2,
+                  parallel.count(),
+                  parallel.count() == sequential.count() ? "ok" : "MISMATCH");
+  }
+}
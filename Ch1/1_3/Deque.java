@@ -1,7 +1,7 @@
 /*************************************************************************
  *  Compilation:  javac Deque.java
  *  Execution:    java Deque < input.txt
- *  Updated:      Jan. 14, 2015
+ *  Updated:      Oct. 18, 2026
  *  
  *  May require I/O library files from Sedgewicks "Algorithms".
  *  http://algs4.cs.princeton.edu/code/
@@ -14,8 +14,16 @@
  *
  *************************************************************************/
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *  @author Brendan Duke
@@ -156,14 +164,68 @@ public class Deque<Item> implements Iterable<Item> {
   @Override
   public String
   toString() {
-    String result = "[";
+    StringBuilder result = new StringBuilder();
+    try {
+      writeTo(result);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e); // StringBuilder doesn't throw.
+    }
+    return result.toString();
+  }
+
+  /**
+   * Writes the same text as toString() to out, one item at a time.
+   * @return void.
+   */
+  public void
+  writeTo(Appendable out) throws IOException {
+    out.append('[');
     for(Iterator<Item> it = this.iterator(); it.hasNext();) {
-      result += it.next().toString();
+      out.append(String.valueOf(it.next()));
       if(it.hasNext()) {
-        result += ", ";
+        out.append(", ");
       }
     }
-    result += "]";
+    out.append(']');
+  }
+
+  /**
+   * Writes the same text as toString() to out as UTF-8, through a fixed
+   * size buffer. Doesn't close out.
+   * @return void.
+   */
+  public void
+  writeTo(WritableByteChannel out) throws IOException {
+    ChannelWriter writer = new ChannelWriter(out);
+    writeTo(writer);
+    writer.flush();
+  }
+
+  /**
+   * Writes a binary snapshot of the deque, first to last, to out.
+   * @param codec converts each item to bytes.
+   * @return void.
+   */
+  public void
+  snapshot(Serializer<? super Item> codec, WritableByteChannel out)
+    throws IOException {
+    Snapshot.write(this, N, codec, out);
+  }
+
+  /**
+   * Reads a deque back from a snapshot written by snapshot().
+   * @param codec converts bytes back to items.
+   * @return the restored deque.
+   */
+  public static <T>
+  Deque<T> restore(ReadableByteChannel in, Serializer<T> codec)
+    throws IOException {
+    Snapshot.Reader<T> reader = new Snapshot.Reader<T>(in, codec);
+    Deque<T> result = new Deque<T>();
+    while(reader.hasNext()) {
+      result.pushRight(reader.next());
+    }
     return result;
   }
 
@@ -179,6 +241,34 @@ public class Deque<Item> implements Iterable<Item> {
     return new ListIterator();  
   }
 
+  /**
+   * Returns a spliterator over the items from first to last. It splits
+   * off batches of items into arrays (in growing batch sizes), and knows
+   * the exact size of itself and of every split.
+   * @return an ORDERED, SIZED and SUBSIZED spliterator.
+   */
+  @Override
+  public Spliterator<Item>
+  spliterator() {
+    return Spliterators.spliterator(iterator(), N, Spliterator.ORDERED);
+  }
+
+  /**
+   * Returns a sequential stream of the items from first to last.
+   */
+  public Stream<Item>
+  stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream of the items from first to last.
+   */
+  public Stream<Item>
+  parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
   // an iterator, doesn't implement remove() since it's optional
   private class ListIterator implements Iterator<Item> {
     private DoubleNode<Item> current = first;
@@ -0,0 +1,78 @@
+/*************************************************************************
+ *  Compilation:  javac DequeCompare.java
+ *  Execution:    java DequeCompare impl1 impl2 numberOfOps numberOfTrials
+ *  e.g. java DequeCompare Array Linked 1000000 10
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Compares the linked-list Deque ("Linked") against the circular-array
+ *  ResizingArrayDeque ("Array") on the same random mix of pushes and pops.
+ *
+ *************************************************************************/
+
+/**
+ *  @author Brendan Duke
+ */
+public class DequeCompare {
+  // NOTE(brendan): ops[i] is 0 = pushLeft, 1 = pushRight, 2 = popLeft,
+  // 3 = popRight. Pushes are twice as likely, so the deque grows to ~N/3.
+  private static int[] randomOps(int N) {
+    int[] ops = new int[N];
+    for(int i = 0; i < N; ++i) {
+      int r = StdRandom.uniform(6);
+      ops[i] = (r < 4) ? r / 2 : r - 2;
+    }
+    return ops;
+  }
+
+  public static double time(String impl, int[] ops) {
+    Stopwatch timer = new Stopwatch();
+    Integer item = 0;
+    if(impl.equals("Linked")) {
+      Deque<Integer> d = new Deque<Integer>();
+      for(int op : ops) {
+        if(op == 0) d.pushLeft(item);
+        else if(op == 1) d.pushRight(item);
+        else if(d.isEmpty()) continue;
+        else if(op == 2) d.popLeft();
+        else d.popRight();
+      }
+    }
+    else if(impl.equals("Array")) {
+      ResizingArrayDeque<Integer> d = new ResizingArrayDeque<Integer>();
+      for(int op : ops) {
+        if(op == 0) d.pushLeft(item);
+        else if(op == 1) d.pushRight(item);
+        else if(d.isEmpty()) continue;
+        else if(op == 2) d.popLeft();
+        else d.popRight();
+      }
+    }
+    else {
+      throw new IllegalArgumentException("unknown deque: " + impl);
+    }
+    return timer.elapsedTime();
+  }
+
+  public static double timeRandomOps(String impl, int N, int T) {
+    // Run T random sequences of N operations against impl.
+    double total = 0.0;
+    for(int t = 0; t < T; ++t) {
+      total += time(impl, randomOps(N));
+    }
+    return total;
+  }
+
+  public static void main(String[] args) {
+    String impl1 = args[0];
+    String impl2 = args[1];
+    int N = Integer.parseInt(args[2]);
+    int T = Integer.parseInt(args[3]);
+    double t1 = timeRandomOps(impl1, N, T); // total for impl1
+    double t2 = timeRandomOps(impl2, N, T); // total for impl2
+    StdOut.printf("For %d random deque operations\n    %s is", N, impl1);
+    StdOut.printf(" %.1f times faster than %s\n", t2/t1, impl2);
+  }
+}
@@ -1,40 +1,351 @@
 /*************************************************************************
  *  Compilation:  javac DoubleLinked.java
  *  Execution:    java DoubleLinked < input.txt
- *  Updated:      Jan. 14, 2015
+ *  Updated:      Oct. 18, 2026
  *  
  *  May require I/O library files from Sedgewicks "Algorithms".
  *  http://algs4.cs.princeton.edu/code/
  *
- *  Nested class DoubleNode for building doubly-linked lists.
+ *  A persistent (immutable) list with insert and remove at both ends.
  *  Static methods for: insert at beginning, insert at end, remove from
- *  beginning, remove from end, insert before a given node, insert after a
- *  given node, and remove a given node.
- *  All methods in this class are functional (except main).
+ *  beginning, remove from end.
+ *  All methods in this class are functional (except main and Builder):
+ *  every operation returns a new list and leaves the old one valid. The
+ *  new list shares structure with the old one instead of copying it, so
+ *  all operations take constant amortized time.
+ *  Nested class Builder for building a list in place: append, and insert
+ *  before, insert after or remove a given node, in constant time; then
+ *  build() the immutable list in constant time.
+ *  Testing: "java DoubleLinked < input.txt" inserts each string at the end
+ *  and prints the list on "print"; "java DoubleLinked N" runs a doubling
+ *  test of N inserts.
  *
  *************************************************************************/
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
 
 /**
  *  @author Brendan Duke
- *  
+ *  This is Okasaki's banker's deque ("Purely Functional Data Structures",
+ *  section 8.4). Items are held in a front stream, first to last, and a
+ *  rear stream, last to first. Whenever one stream becomes more than C
+ *  times longer than the other plus one, the longer one is cut in half and
+ *  its back half reversed onto the end of the shorter one. The streams
+ *  are lazy and memoize their cells, so that work is done at most once
+ *  however many versions of the list share it.
+ *  A list can be read by several threads at once, e.g. by parallelStream():
+ *  each stream publishes its memoized cell through one volatile field.
  */
 public class DoubleLinked<Item> implements Iterable<Item> {
-  private int N = 0; // size of linked list.
-  private DoubleNode<Item> first; // head of linked list.
-  private DoubleNode<Item> last; // tail of linked list.
+  private static final int C = 3; // balance constant.
+
+  private final int N; // size of list.
+  private final int lenFront; // size of front.
+  private final Stream<Item> front; // first to last.
+  private final int lenRear; // size of rear.
+  private final Stream<Item> rear; // last to first.
+
+  private static class Cell<T> {
+    private final T item;
+    private final Stream<T> rest;
+
+    private Cell(T item, Stream<T> rest) {
+      this.item = item;
+      this.rest = rest;
+    }
+  };
+
+  // A lazy, memoized stream. A Suspension says how to compute the first
+  // cell; it is dropped once the cell has been computed.
+  private static class Stream<T> {
+    private static final int APPEND = 1; // s followed by t.
+    private static final int TAKE = 2; // first n items of s.
+    private static final int REVERSE_DROP = 3; // reverse of s without its first n.
+    private static final int NODES = 4; // items of node and the nodes after it.
+    private static final Object EMPTY = new Object(); // forced, no cell.
+
+    // a Suspension until forced, then the first Cell, or EMPTY.
+    // NOTE(brendan): this is the only mutable field, and it is written
+    // only with a finished, immutable value, so readers on other threads
+    // see either the Suspension or the whole result.
+    private volatile Object state;
+
+    private Stream(Object state) {
+      this.state = state;
+    }
+
+    private static final class Suspension<T> {
+      private final int op;
+      private final Stream<T> s;
+      private final Stream<T> t;
+      private final int n;
+      private final Node<T> node;
 
-  private static class DoubleNode<T> {
+      private Suspension(int op, Stream<T> s, Stream<T> t, int n,
+                         Node<T> node) {
+        this.op = op;
+        this.s = s;
+        this.t = t;
+        this.n = n;
+        this.node = node;
+      }
+    };
+
+    private static <T> Stream<T> empty() {
+      return new Stream<T>(EMPTY);
+    }
+
+    private static <T> Stream<T> cons(T item, Stream<T> rest) {
+      return new Stream<T>(new Cell<T>(item, rest));
+    }
+
+    private static <T> Stream<T> append(Stream<T> s, Stream<T> t) {
+      return new Stream<T>(new Suspension<T>(APPEND, s, t, 0, null));
+    }
+
+    private static <T> Stream<T> take(int n, Stream<T> s) {
+      return new Stream<T>(new Suspension<T>(TAKE, s, null, n, null));
+    }
+
+    private static <T> Stream<T> reverseDrop(int n, Stream<T> s) {
+      return new Stream<T>(new Suspension<T>(REVERSE_DROP, s, null, n, null));
+    }
+
+    private static <T> Stream<T> nodes(Node<T> node) {
+      return new Stream<T>(new Suspension<T>(NODES, null, null, 0, node));
+    }
+
+    // returns the first cell, or null if empty. Two threads forcing the
+    // same stream at once may both compute it; their results are equal.
+    @SuppressWarnings("unchecked")
+    private Cell<T> force() {
+      Object x = state;
+      if(x instanceof Suspension) {
+        Cell<T> c = compute((Suspension<T>) x);
+        x = (c == null) ? EMPTY : c;
+        state = x;
+      }
+      return (x == EMPTY) ? null : (Cell<T>) x;
+    }
+
+    private static <T> Cell<T> compute(Suspension<T> p) {
+      if(p.op == APPEND) {
+        Cell<T> c = p.s.force();
+        return (c == null)
+          ? p.t.force() : new Cell<T>(c.item, append(c.rest, p.t));
+      }
+      if(p.op == TAKE) {
+        Cell<T> c = (p.n == 0) ? null : p.s.force();
+        return (c == null) ? null : new Cell<T>(c.item, take(p.n - 1, c.rest));
+      }
+      if(p.op == NODES) {
+        return (p.node == null)
+          ? null : new Cell<T>(p.node.item, nodes(p.node.next));
+      }
+      // NOTE(brendan): reverse is monolithic; it walks all of s at once.
+      Cell<T> c = p.s.force();
+      for(int i = 0; i < p.n; ++i) {
+        c = c.rest.force();
+      }
+      Stream<T> result = empty();
+      for(; c != null; c = c.rest.force()) {
+        result = cons(c.item, result);
+      }
+      return result.force();
+    }
+  };
+
+  /**
+   * A handle to one item in a Builder. Only the Builder it came from can
+   * use it, and only until the item is removed or the Builder is built.
+   */
+  public static final class Node<T> {
     private T item;
-    private DoubleNode<T> next;
-    private DoubleNode<T> previous;
+    private Node<T> next;
+    private Node<T> previous;
+    private Builder<T> owner;
 
-    private DoubleNode(T item, DoubleNode<T> next, DoubleNode<T> previous) {
+    private Node(T item, Builder<T> owner) {
       this.item = item;
-      this.next = next;
-      this.previous = previous;
+      this.owner = owner;
+    }
+
+    /**
+     * Returns the item at this node.
+     */
+    public T item() {
+      return item;
+    }
+  };
+
+  /**
+   * A mutable doubly-linked list that is turned into an immutable
+   * DoubleLinked by build(). build() doesn't copy: the list reads the
+   * builder's nodes lazily, so the builder can't be changed afterwards.
+   */
+  public static final class Builder<T> {
+    private int N = 0;
+    private Node<T> first;
+    private Node<T> last;
+    private boolean built = false;
+
+    /**
+     * Number of items in the builder.
+     */
+    public int size() {
+      return N;
+    }
+
+    /**
+     * Returns the handle of the first item, or null if there are none.
+     */
+    public Node<T> first() {
+      checkNotBuilt();
+      return first;
+    }
+
+    /**
+     * Returns the handle of the last item, or null if there are none.
+     */
+    public Node<T> last() {
+      checkNotBuilt();
+      return last;
+    }
+
+    /**
+     * Returns the handle of the item after node, or null if it is last.
+     */
+    public Node<T> next(Node<T> node) {
+      checkOwner(node);
+      return node.next;
+    }
+
+    /**
+     * Returns the handle of the item before node, or null if it is first.
+     */
+    public Node<T> previous(Node<T> node) {
+      checkOwner(node);
+      return node.previous;
+    }
+
+    /**
+     * Inserts at the end of the list.
+     * @return the handle of the new item.
+     */
+    public Node<T> append(T item) {
+      checkNotBuilt();
+      return link(item, last, null);
+    }
+
+    /**
+     * Inserts at the beginning of the list.
+     * @return the handle of the new item.
+     */
+    public Node<T> prepend(T item) {
+      checkNotBuilt();
+      return link(item, null, first);
+    }
+
+    /**
+     * Inserts before a given node.
+     * @return the handle of the new item.
+     * @throws java.lang.IllegalArgumentException if node isn't in this
+     * builder.
+     */
+    public Node<T> insertBefore(Node<T> node, T item) {
+      checkOwner(node);
+      return link(item, node.previous, node);
+    }
+
+    /**
+     * Inserts after a given node.
+     * @return the handle of the new item.
+     * @throws java.lang.IllegalArgumentException if node isn't in this
+     * builder.
+     */
+    public Node<T> insertAfter(Node<T> node, T item) {
+      checkOwner(node);
+      return link(item, node, node.next);
+    }
+
+    /**
+     * Removes a given node.
+     * @return the item that was at node.
+     * @throws java.lang.IllegalArgumentException if node isn't in this
+     * builder.
+     */
+    public T remove(Node<T> node) {
+      checkOwner(node);
+      if(node.previous == null) {
+        first = node.next;
+      }
+      else {
+        node.previous.next = node.next;
+      }
+      if(node.next == null) {
+        last = node.previous;
+      }
+      else {
+        node.next.previous = node.previous;
+      }
+      T item = node.item;
+      node.item = null;
+      node.next = null;
+      node.previous = null;
+      node.owner = null;
+      --N;
+      return item;
+    }
+
+    /**
+     * Returns the immutable list of the items in this builder, first to
+     * last, in constant time. The builder can't be used afterwards.
+     */
+    public DoubleLinked<T> build() {
+      checkNotBuilt();
+      built = true;
+      return check(N, Stream.nodes(first), 0, Stream.<T>empty());
+    }
+
+    private Node<T> link(T item, Node<T> previous, Node<T> next) {
+      Node<T> node = new Node<T>(item, this);
+      node.previous = previous;
+      node.next = next;
+      if(previous == null) {
+        first = node;
+      }
+      else {
+        previous.next = node;
+      }
+      if(next == null) {
+        last = node;
+      }
+      else {
+        next.previous = node;
+      }
+      ++N;
+      return node;
+    }
+
+    private void checkNotBuilt() {
+      if(built) {
+        throw new IllegalStateException("Builder already built.");
+      }
+    }
+
+    private void checkOwner(Node<T> node) {
+      checkNotBuilt();
+      if(node == null || node.owner != this) {
+        throw new IllegalArgumentException("Node not in this builder.");
+      }
     }
   };
 
@@ -42,81 +353,149 @@ public class DoubleLinked<Item> implements Iterable<Item> {
    * Initializes an empty doubly-linked list.
    */
   public DoubleLinked() {
-      first = null;
-      last = null;
-      N = 0;
+    this(0, Stream.<Item>empty(), 0, Stream.<Item>empty());
+  }
+
+  private DoubleLinked(int lenFront, Stream<Item> front,
+                       int lenRear, Stream<Item> rear) {
+    this.N = lenFront + lenRear;
+    this.lenFront = lenFront;
+    this.front = front;
+    this.lenRear = lenRear;
+    this.rear = rear;
+  }
+
+  // builds a list, rebalancing front and rear if one is too long.
+  private static <T>
+  DoubleLinked<T> check(int lenFront, Stream<T> front,
+                        int lenRear, Stream<T> rear) {
+    int n = lenFront + lenRear;
+    if(lenFront > C * lenRear + 1) {
+      int i = n / 2;
+      return new DoubleLinked<T>(
+        i, Stream.take(i, front),
+        n - i, Stream.append(rear, Stream.reverseDrop(i, front)));
+    }
+    if(lenRear > C * lenFront + 1) {
+      int j = n / 2;
+      return new DoubleLinked<T>(
+        n - j, Stream.append(front, Stream.reverseDrop(j, rear)),
+        j, Stream.take(j, rear));
+    }
+    return new DoubleLinked<T>(lenFront, front, lenRear, rear);
+  }
+
+  /**
+   * Is the list empty?
+   * @return true if the list is empty; false otherwise.
+   */
+  public boolean isEmpty() {
+    return N == 0;
+  }
+
+  /**
+   * Number of items in the list.
+   * @return number of items in the list.
+   */
+  public int size() {
+    return N;
   }
 
   /**
    * Inserts at the beginning of the doubly-linked list.
-   * @return a copy of the linked list with the new node inserted.
+   * @return a new list with the item inserted; list itself is unchanged.
    */
   public static <T>
   DoubleLinked<T> insertBegin(T item, DoubleLinked<T> list) {
     if(list == null) {
       throw new NoSuchElementException("Insert to null list.");
     }
-    DoubleLinked<T> result = copy(list);
-    if(result.first == null) {
-      result.first = new DoubleNode<T>(item, null, null);
-      result.last = result.first;
-    }
-    else {
-      DoubleNode<T> tempNode = result.first;
-      result.first = new DoubleNode<T>(item, tempNode, null);
-      tempNode.previous = result.first;
-    }
-    return result;
+    return check(list.lenFront + 1, Stream.cons(item, list.front),
+                 list.lenRear, list.rear);
   }
 
   /**
    * Inserts at the end of the doubly-linked list.
-   * @return a copy of the linked list with the new node inserted.
+   * @return a new list with the item inserted; list itself is unchanged.
    */
   public static <T>
   DoubleLinked<T> insertEnd(T item, DoubleLinked<T> list) {
     if(list == null) {
       throw new NoSuchElementException("Insert to null list.");
     }
-    DoubleLinked<T> result = copy(list);
-    if(result.first == null) {
-      result.first = new DoubleNode<T>(item, null, null);
-      result.last = result.first;
+    return check(list.lenFront, list.front,
+                 list.lenRear + 1, Stream.cons(item, list.rear));
+  }
+
+  /**
+   * Returns the first item of the doubly-linked list.
+   * @throws java.util.NoSuchElementException if the list is empty.
+   */
+  public static <T>
+  T peekBegin(DoubleLinked<T> list) {
+    if(list == null || list.N == 0) {
+      throw new NoSuchElementException("List underflow.");
     }
-    else {
-      DoubleNode<T> tempNode = result.last;
-      result.last = new DoubleNode<T>(item, null, tempNode);
-      tempNode.next = result.last;
+    // NOTE(brendan): by the invariant, an empty front means rear has 1 item.
+    Cell<T> c = (list.lenFront == 0) ? list.rear.force() : list.front.force();
+    return c.item;
+  }
+
+  /**
+   * Returns the last item of the doubly-linked list.
+   * @throws java.util.NoSuchElementException if the list is empty.
+   */
+  public static <T>
+  T peekEnd(DoubleLinked<T> list) {
+    if(list == null || list.N == 0) {
+      throw new NoSuchElementException("List underflow.");
     }
-    return result;
+    Cell<T> c = (list.lenRear == 0) ? list.front.force() : list.rear.force();
+    return c.item;
   }
 
   /**
-   * Creates a copy of an input list.
-   * @return a copy of the doubly-linked list given as input.
+   * Removes from the beginning of the doubly-linked list.
+   * @return a new list without the first item; list itself is unchanged.
+   * @throws java.util.NoSuchElementException if the list is empty.
    */
   public static <T>
-  DoubleLinked<T> copy(DoubleLinked<T> input) {
-    DoubleLinked<T> result = new DoubleLinked<T>();
-    if(input == null) {
-      return null;
+  DoubleLinked<T> removeBegin(DoubleLinked<T> list) {
+    if(list == null || list.N == 0) {
+      throw new NoSuchElementException("List underflow.");
     }
-    if(input.first == null) {
-      return result;
+    if(list.lenFront == 0) {
+      return new DoubleLinked<T>();
     }
-    for(Iterator<T> it = input.iterator(); it.hasNext();) {
-      T next = it.next();
-      if(result.first == null) {
-        result.first = new DoubleNode<T>(next, null,null);
-        result.last = result.first;
-      }
-      else {
-        DoubleNode<T> tempNode = result.last;
-        result.last = new DoubleNode<T>(next, null, result.last);
-        tempNode.next = result.last;
-      }
+    return check(list.lenFront - 1, list.front.force().rest,
+                 list.lenRear, list.rear);
+  }
+
+  /**
+   * Removes from the end of the doubly-linked list.
+   * @return a new list without the last item; list itself is unchanged.
+   * @throws java.util.NoSuchElementException if the list is empty.
+   */
+  public static <T>
+  DoubleLinked<T> removeEnd(DoubleLinked<T> list) {
+    if(list == null || list.N == 0) {
+      throw new NoSuchElementException("List underflow.");
     }
-    return result;
+    if(list.lenRear == 0) {
+      return new DoubleLinked<T>();
+    }
+    return check(list.lenFront, list.front,
+                 list.lenRear - 1, list.rear.force().rest);
+  }
+
+  /**
+   * Creates a copy of an input list. Lists are immutable, so this is the
+   * input itself.
+   * @return a copy of the doubly-linked list given as input.
+   */
+  public static <T>
+  DoubleLinked<T> copy(DoubleLinked<T> input) {
+    return input;
   }
 
   /**
@@ -126,14 +505,67 @@ public class DoubleLinked<Item> implements Iterable<Item> {
    */
   public static <T>
   String toString(DoubleLinked<T> list) {
-    String result = "[";
-    String nextString;
+    StringBuilder result = new StringBuilder();
+    try {
+      writeTo(list, result);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e); // StringBuilder doesn't throw.
+    }
+    return result.toString();
+  }
+
+  /**
+   * Writes the same text as toString(list) to out, one item at a time.
+   */
+  public static <T>
+  void writeTo(DoubleLinked<T> list, Appendable out) throws IOException {
+    out.append('[');
     for(Iterator<T> it = list.iterator(); it.hasNext();) {
-      result += it.next().toString();
-      String append = it.hasNext() ? ", " : "]";
-      result += append;
+      out.append(String.valueOf(it.next()));
+      if(it.hasNext()) {
+        out.append(", ");
+      }
+    }
+    out.append(']');
+  }
+
+  /**
+   * Writes the same text as toString(list) to out as UTF-8, through a
+   * fixed size buffer. Doesn't close out.
+   */
+  public static <T>
+  void writeTo(DoubleLinked<T> list, WritableByteChannel out)
+    throws IOException {
+    ChannelWriter writer = new ChannelWriter(out);
+    writeTo(list, writer);
+    writer.flush();
+  }
+
+  /**
+   * Writes a binary snapshot of the list, first to last, to out.
+   * @param codec converts each item to bytes.
+   */
+  public static <T>
+  void snapshot(DoubleLinked<T> list, Serializer<? super T> codec,
+                WritableByteChannel out) throws IOException {
+    Snapshot.write(list, list.N, codec, out);
+  }
+
+  /**
+   * Reads a list back from a snapshot written by snapshot().
+   * @param codec converts bytes back to items.
+   * @return the restored list.
+   */
+  public static <T>
+  DoubleLinked<T> restore(ReadableByteChannel in, Serializer<T> codec)
+    throws IOException {
+    Snapshot.Reader<T> reader = new Snapshot.Reader<T>(in, codec);
+    Builder<T> builder = new Builder<T>();
+    while(reader.hasNext()) {
+      builder.append(reader.next());
     }
-    return result;
+    return builder.build();
   }
 
   /** 
@@ -147,12 +579,43 @@ public class DoubleLinked<Item> implements Iterable<Item> {
       return new ListIterator();  
     }
 
+  /**
+   * Returns a spliterator over the items from first to last. It splits
+   * off batches of items into arrays (in growing batch sizes), and knows
+   * the exact size of itself and of every split.
+   * @return an ORDERED, SIZED, SUBSIZED and IMMUTABLE spliterator.
+   */
+  @Override
+  public Spliterator<Item> spliterator() {
+    return Spliterators.spliterator(
+      iterator(), N, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+  }
+
+  /**
+   * Returns a sequential stream of the items from first to last.
+   */
+  public java.util.stream.Stream<Item> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream of the items from first to last.
+   */
+  public java.util.stream.Stream<Item> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
     // an iterator, doesn't implement remove() since it's optional
+    // NOTE(brendan): walks the front stream, then the rear stream
+    // backwards, which it first copies into an array.
     private class ListIterator implements Iterator<Item> {
-      private DoubleNode<Item> current = first;
+      private Cell<Item> current = front.force();
+      private int frontLeft = lenFront;
+      private Item[] rearItems = null;
+      private int rearLeft = lenRear;
 
       public boolean hasNext()  { 
-        return current != null;                     
+        return frontLeft + rearLeft > 0;
       }
 
       public void remove() { 
@@ -163,14 +626,57 @@ public class DoubleLinked<Item> implements Iterable<Item> {
         if (!hasNext()) { 
           throw new NoSuchElementException();
         }
-        Item item = current.item;
-        current = current.next; 
-        return item;
+        if(frontLeft > 0) {
+          Item item = current.item;
+          if(--frontLeft > 0) {
+            current = current.rest.force();
+          }
+          return item;
+        }
+        if(rearItems == null) {
+          rearItems = rearToArray();
+        }
+        return rearItems[--rearLeft];
+      }
+
+      @SuppressWarnings("unchecked")
+      private Item[] rearToArray() {
+        Item[] result = (Item[]) new Object[lenRear];
+        Cell<Item> c = rear.force();
+        for(int i = 0; i < lenRear; ++i, c = c.rest.force()) {
+          result[i] = c.item;
+        }
+        return result;
       }
     }
 
+  // build a list of N items with insertEnd, then empty it again from both
+  // ends; returns the elapsed time.
+  private static double timeTrial(int N) {
+    Stopwatch timer = new Stopwatch();
+    DoubleLinked<Integer> list = new DoubleLinked<Integer>();
+    for(int i = 0; i < N; ++i) {
+      list = insertEnd(i, list);
+    }
+    for(int i = 0; i < N; ++i) {
+      list = (i % 2 == 0) ? removeBegin(list) : removeEnd(list);
+    }
+    return timer.elapsedTime();
+  }
+
   // NOTE(brendan): testing
   public static void main(String[] args) {
+    if(args.length > 0) {
+      // Doubling test: a ratio near 2 means linear time overall.
+      int maxN = Integer.parseInt(args[0]);
+      double previous = timeTrial(1000);
+      for(int N = 2000; N <= maxN; N += N) {
+        double time = timeTrial(N);
+        StdOut.printf("%8d %7.3f %5.1f\n", N, time, time/previous);
+        previous = time;
+      }
+      return;
+    }
     DoubleLinked<String> list = new DoubleLinked<String>();
     while (!StdIn.isEmpty()) {
       String item = StdIn.readString();
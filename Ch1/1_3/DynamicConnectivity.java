@@ -0,0 +1,250 @@
+/*************************************************************************
+ *  Compilation:  javac DynamicConnectivity.java
+ *  Execution:    java DynamicConnectivity < events.txt
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Offline dynamic connectivity: answers a whole log of edge insertions,
+ *  edge deletions and connectivity queries at once, without rebuilding a
+ *  union-find after each deletion.
+ *  Input: N, then events "+ p q" (add edge), "- p q" (remove edge) and
+ *  "? p q" (are p and q connected?). Prints one answer per query, then the
+ *  total time to standard error.
+ *
+ *************************************************************************/
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *  @author Brendan Duke
+ *  Each edge is alive over an interval of event times. The intervals are
+ *  added to a segment tree over time, which puts each one on O(log Q)
+ *  nodes. A depth-first walk of the tree unions a node's edges on the way
+ *  down and rolls them back on the way up (using RollbackUF), so at each
+ *  leaf exactly the edges alive at that time are unioned. That's
+ *  O((E + Q) log Q log N) in total for E edges and Q events. Subtrees
+ *  without queries are skipped. Parallel edges are allowed; removing one
+ *  copy ends the most recently added one.
+ */
+public class DynamicConnectivity {
+  private static final int ADD = 0;
+  private static final int REMOVE = 1;
+  private static final int QUERY = 2;
+
+  private final int N;
+  private int T = 0; // number of events.
+  private int[] type = new int[2];
+  private int[] from = new int[2];
+  private int[] to = new int[2];
+  private int queries = 0;
+
+  /**
+   * Initializes an empty event log over sites 0 through N-1.
+   * @throws java.lang.IllegalArgumentException if N < 0
+   */
+  public DynamicConnectivity(int N) {
+    if(N < 0) {
+      throw new IllegalArgumentException("N < 0");
+    }
+    this.N = N;
+  }
+
+  /**
+   * Logs the insertion of edge p-q.
+   */
+  public void addEdge(int p, int q) {
+    log(ADD, p, q);
+  }
+
+  /**
+   * Logs the removal of edge p-q, which must have been added and not yet
+   * removed by the time solve() replays this event.
+   */
+  public void removeEdge(int p, int q) {
+    log(REMOVE, p, q);
+  }
+
+  /**
+   * Logs the query "are p and q connected?".
+   * @return the index of this query's answer in the array from solve().
+   */
+  public int query(int p, int q) {
+    log(QUERY, p, q);
+    return queries++;
+  }
+
+  private void log(int t, int p, int q) {
+    if(p < 0 || p >= N || q < 0 || q >= N) {
+      throw new IndexOutOfBoundsException(p + "-" + q);
+    }
+    if(T == type.length) {
+      type = Arrays.copyOf(type, 2 * T);
+      from = Arrays.copyOf(from, 2 * T);
+      to = Arrays.copyOf(to, 2 * T);
+    }
+    type[T] = t;
+    from[T] = Math.min(p, q);
+    to[T] = Math.max(p, q);
+    ++T;
+  }
+
+  /**
+   * Replays the log.
+   * @return the answer to every query, in the order they were logged.
+   * @throws java.lang.IllegalArgumentException if an edge is removed that
+   * isn't there.
+   */
+  public boolean[] solve() {
+    // the lifetime [start[e], end[e]) of every edge.
+    int E = 0;
+    int[] start = new int[T];
+    int[] end = new int[T];
+    int[] edge = new int[T]; // edge[e] = event that added e.
+    Map<Long, IntStack> open = new HashMap<Long, IntStack>();
+    for(int t = 0; t < T; ++t) {
+      if(type[t] == QUERY) {
+        continue;
+      }
+      Long key = ((long) from[t] << 32) | to[t];
+      IntStack alive = open.get(key);
+      if(type[t] == ADD) {
+        if(alive == null) {
+          alive = new IntStack();
+          open.put(key, alive);
+        }
+        alive.push(E);
+        edge[E] = t;
+        start[E++] = t;
+      }
+      else {
+        if(alive == null || alive.isEmpty()) {
+          throw new IllegalArgumentException("no edge " + from[t] + "-"
+                                             + to[t] + " to remove");
+        }
+        end[alive.pop()] = t;
+      }
+    }
+    for(IntStack alive : open.values()) {
+      while(!alive.isEmpty()) {
+        end[alive.pop()] = T;
+      }
+    }
+
+    // hang each edge on the segment tree nodes that cover its lifetime, as
+    // (node, edge) pairs that are then grouped by node.
+    int nodes = 1;
+    while(nodes < T) {
+      nodes <<= 1;
+    }
+    nodes <<= 1; // node 1 covers [0, nodes / 2); node i has 2i and 2i + 1.
+    int pairs = 0;
+    int[] pairNode = new int[2];
+    int[] pairEdge = new int[2];
+    for(int e = 0; e < E; ++e) {
+      // the usual bottom-up cover of [l, r).
+      for(int l = start[e] + nodes / 2, r = end[e] + nodes / 2; l < r;
+          l >>= 1, r >>= 1) {
+        if(pairs + 2 > pairNode.length) {
+          pairNode = Arrays.copyOf(pairNode, 2 * pairNode.length);
+          pairEdge = Arrays.copyOf(pairEdge, 2 * pairEdge.length);
+        }
+        if((l & 1) == 1) {
+          pairNode[pairs] = l++;
+          pairEdge[pairs++] = e;
+        }
+        if((r & 1) == 1) {
+          pairNode[pairs] = --r;
+          pairEdge[pairs++] = e;
+        }
+      }
+    }
+    int[] first = new int[nodes + 1]; // node i's edges are in
+    for(int i = 0; i < pairs; ++i) {   // edges[first[i]..first[i + 1]).
+      ++first[pairNode[i] + 1];
+    }
+    for(int i = 0; i < nodes; ++i) {
+      first[i + 1] += first[i];
+    }
+    int[] edges = new int[pairs];
+    int[] next = Arrays.copyOf(first, nodes);
+    for(int i = 0; i < pairs; ++i) {
+      edges[next[pairNode[i]]++] = pairEdge[i];
+    }
+
+    // queriesBefore[t] = number of queries before event t, to skip
+    // subtrees without any, and to number the answers.
+    int[] queriesBefore = new int[nodes / 2 + 1];
+    for(int t = 0; t < nodes / 2; ++t) {
+      queriesBefore[t + 1] = queriesBefore[t]
+        + ((t < T && type[t] == QUERY) ? 1 : 0);
+    }
+
+    boolean[] answers = new boolean[queries];
+    RollbackUF uf = new RollbackUF(N);
+    if(queries > 0) {
+      walk(1, 0, nodes / 2, uf, first, edges, edge, queriesBefore, answers);
+    }
+    return answers;
+  }
+
+  // unions node's edges, answers the queries in [lo, hi), then rolls back.
+  private void walk(int node, int lo, int hi, RollbackUF uf, int[] first,
+                    int[] edges, int[] edge, int[] queriesBefore,
+                    boolean[] answers) {
+    if(queriesBefore[hi] == queriesBefore[lo]) {
+      return;
+    }
+    uf.checkpoint();
+    for(int i = first[node]; i < first[node + 1]; ++i) {
+      int t = edge[edges[i]];
+      uf.union(from[t], to[t]);
+    }
+    if(hi - lo == 1) {
+      answers[queriesBefore[lo]] = uf.connected(from[lo], to[lo]);
+    }
+    else {
+      int mid = (lo + hi) >>> 1;
+      walk(2 * node, lo, mid, uf, first, edges, edge, queriesBefore, answers);
+      walk(2 * node + 1, mid, hi, uf, first, edges, edge, queriesBefore,
+           answers);
+    }
+    uf.rollback();
+  }
+
+  /**
+   * Reads an event log from standard input and prints the answer to each
+   * query, then the time taken for the whole log.
+   */
+  public static void main(String[] args) {
+    Stopwatch timer = new Stopwatch();
+    DynamicConnectivity log = new DynamicConnectivity(StdIn.readInt());
+    while(!StdIn.isEmpty()) {
+      String event = StdIn.readString();
+      int p = StdIn.readInt();
+      int q = StdIn.readInt();
+      if(event.equals("+")) {
+        log.addEdge(p, q);
+      }
+      else if(event.equals("-")) {
+        log.removeEdge(p, q);
+      }
+      else if(event.equals("?")) {
+        log.query(p, q);
+      }
+    }
+    double read = timer.elapsedTime();
+    boolean[] answers = log.solve();
+    double total = timer.elapsedTime();
+    StringBuilder out = new StringBuilder();
+    for(boolean connected : answers) {
+      out.append(connected ? "connected\n" : "not connected\n");
+    }
+    StdOut.print(out);
+    System.err.printf("%d events, %d queries in %.2f s (%.2f s reading)\n",
+                      log.T, log.queries, total, read);
+  }
+}
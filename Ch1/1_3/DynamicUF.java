@@ -0,0 +1,246 @@
+/*************************************************************************
+ *  Compilation: javac DynamicUF.java
+ *  Execution: java DynamicUF numberOfSites numberOfUnions
+ *  e.g. java DynamicUF 10000000 20000000
+ *  Updated: Oct. 18/26
+ *
+ *  Growable union-find over sparse long and String keys.
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *************************************************************************/
+
+import java.util.SplittableRandom;
+
+/**
+ *  The <tt>DynamicUF</tt> class represents a union-find data structure
+ *  whose sites are named by arbitrary long or String keys, and which
+ *  grows as new keys are seen.
+ *
+ *  It supports the <em>union</em> and <em>find</em> operations, along with
+ *  methods for determinig whether two objects are in the same component
+ *  and the total number of components.
+ *  <p>
+ *  Each key is given the next dense site index the first time it is seen
+ *  (by any method), through a primitive open-addressing map. Long keys and
+ *  String keys are separate sites, even if they look alike. Each site holds
+ *  its parent, or -(rank + 1) at a root, in fixed-size chunks, so growing
+ *  adds a chunk instead of copying all the sites. <em>find</em> uses path
+ *  halving.
+ *  <p>
+ *  Memory is about 4 bytes per site for the chunks plus 12 bytes per slot
+ *  of the long map, which has between 4/3 and 8/3 slots per long key
+ *  (presize it with the constructor to stay near the low end). Site
+ *  indices are ints, and the map holds at most 3 * 2^28 keys.
+ *  <p>
+ *  @author Brendan Duke
+ */
+public class DynamicUF {
+  private static final int CHUNK_BITS = 20;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private int[][] chunks = new int[1][]; // chunks[i >> CHUNK_BITS][i & CHUNK_MASK]
+  private int N = 0; // number of sites.
+  private int count = 0; // number of components.
+  private final LongIntHashMap longSites;
+  private final StringIntHashMap stringSites;
+
+  /**
+   * Initializes an empty union-find data structure.
+   */
+  public DynamicUF() {
+    this(16);
+  }
+
+  /**
+   * Initializes an empty union-find data structure with room for about
+   * <tt>expected</tt> long keys before its map has to grow.
+   */
+  public DynamicUF(int expected) {
+    longSites = new LongIntHashMap(expected);
+    stringSites = new StringIntHashMap(16);
+  }
+
+  /**
+   * Returns the number of components.
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Returns the number of sites (keys seen so far).
+   */
+  public int size() {
+    return N;
+  }
+
+  /**
+   * Adds key as a new site in a component of its own, unless it has been
+   * seen before.
+   * @return the site index of key
+   */
+  public int makeSet(long key) {
+    int site = longSites.get(key);
+    if(site < 0) {
+      site = newSite();
+      longSites.put(key, site);
+    }
+    return site;
+  }
+
+  /**
+   * Adds key as a new site in a component of its own, unless it has been
+   * seen before.
+   * @return the site index of key
+   * @throws java.lang.NullPointerException if key is null
+   */
+  public int makeSet(String key) {
+    int site = stringSites.get(key);
+    if(site < 0) {
+      site = newSite();
+      stringSites.put(key, site);
+    }
+    return site;
+  }
+
+  /**
+   * Returns the component identifier for the component containing key.
+   */
+  public int find(long key) {
+    return findSite(makeSet(key));
+  }
+
+  /**
+   * Returns the component identifier for the component containing key.
+   */
+  public int find(String key) {
+    return findSite(makeSet(key));
+  }
+
+  /**
+   * Are the two keys in the same component?
+   */
+  public boolean connected(long p, long q) {
+    return find(p) == find(q);
+  }
+
+  /**
+   * Are the two keys in the same component?
+   */
+  public boolean connected(String p, String q) {
+    return find(p) == find(q);
+  }
+
+  /**
+   * Merges the component containing key <tt>p</tt> with the component
+   * containing key <tt>q</tt>.
+   */
+  public void union(long p, long q) {
+    unionSites(makeSet(p), makeSet(q));
+  }
+
+  /**
+   * Merges the component containing key <tt>p</tt> with the component
+   * containing key <tt>q</tt>.
+   */
+  public void union(String p, String q) {
+    unionSites(makeSet(p), makeSet(q));
+  }
+
+  /**
+   * Returns the number of bytes used by the site chunks and the long map.
+   */
+  public long memoryBytes() {
+    long chunkBytes = 0;
+    for(int[] chunk : chunks) {
+      if(chunk != null) {
+        chunkBytes += 4L * chunk.length;
+      }
+    }
+    return chunkBytes + 8L * chunks.length + longSites.memoryBytes();
+  }
+
+  private int get(int i) {
+    return chunks[i >>> CHUNK_BITS][i & CHUNK_MASK];
+  }
+
+  private void set(int i, int value) {
+    chunks[i >>> CHUNK_BITS][i & CHUNK_MASK] = value;
+  }
+
+  private int newSite() {
+    if(N == Integer.MAX_VALUE) {
+      throw new IllegalStateException("too many sites");
+    }
+    int chunk = N >>> CHUNK_BITS;
+    if(chunk == chunks.length) {
+      int[][] temp = new int[2 * chunks.length][];
+      System.arraycopy(chunks, 0, temp, 0, chunks.length);
+      chunks = temp;
+    }
+    if(chunks[chunk] == null) {
+      chunks[chunk] = new int[CHUNK_SIZE];
+    }
+    set(N, -1);
+    ++count;
+    return N++;
+  }
+
+  private int findSite(int p) {
+    for(int parent = get(p); parent >= 0; parent = get(p)) {
+      int grandparent = get(parent);
+      if(grandparent < 0) {
+        return parent;
+      }
+      set(p, grandparent);
+      p = grandparent;
+    }
+    return p;
+  }
+
+  private void unionSites(int p, int q) {
+    int rootP = findSite(p);
+    int rootQ = findSite(q);
+    if(rootP == rootQ) {
+      return;
+    }
+    // roots hold -(rank + 1), so the higher rank holds the smaller value.
+    int rankP = get(rootP);
+    int rankQ = get(rootQ);
+    if(rankP > rankQ) {
+      set(rootP, rootQ);
+    }
+    else {
+      set(rootQ, rootP);
+      if(rankP == rankQ) {
+        set(rootP, rankP - 1);
+      }
+    }
+    count--;
+  }
+
+  /**
+   * Unions M random pairs out of N sparse 64-bit keys, growing from empty,
+   * and prints the time, the component count and the memory per site.
+   */
+  public static void main(String[] args) {
+    int N = Integer.parseInt(args[0]);
+    long M = Long.parseLong(args[1]);
+    SplittableRandom random = new SplittableRandom(2015);
+    Stopwatch timer = new Stopwatch();
+    DynamicUF uf = new DynamicUF(N);
+    for(long i = 0; i < M; ++i) {
+      // NOTE(brendan): key k is a scrambled (but distinct) 64-bit id.
+      long p = random.nextInt(N) * 0x9E3779B97F4A7C15L;
+      long q = random.nextInt(N) * 0x9E3779B97F4A7C15L;
+      uf.union(p, q);
+    }
+    double time = timer.elapsedTime();
+    StdOut.printf("%d sites, %d components, %.2f s, %.1f bytes/site\n",
+                  uf.size(), uf.count(), time,
+                  (double) uf.memoryBytes() / uf.size());
+  }
+}
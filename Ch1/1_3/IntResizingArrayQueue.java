@@ -0,0 +1,127 @@
+/*************************************************************************
+ *  Compilation:  javac IntResizingArrayQueue.java
+ *  Execution:    java IntResizingArrayQueue < input.txt
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  A queue of ints, implemented the same way as MyResizingArrayQueue but
+ *  storing an int[] directly so enqueues and dequeues don't box.
+ *
+ *  % java IntResizingArrayQueue < input.txt
+ *  1 2 3 - - 4 -
+ *  1 2 3 (1 left on queue)
+ *
+ *************************************************************************/
+
+import java.util.NoSuchElementException;
+
+/**
+ *  @author Brendan Duke
+ *  The array doubles when it is full, and halves when the size of the
+ *  queue drops to 1/4 of the array size. The queue wraps around a
+ *  power-of-two array, so indices wrap with a mask.
+ */
+public class IntResizingArrayQueue {
+  private static final int MIN_CAPACITY = 2;
+
+  private int[] a;
+  private int first = 0; // Index of first element in queue.
+  private int N = 0; // Number of elements in queue.
+
+  public IntResizingArrayQueue() {
+    a = new int[MIN_CAPACITY];
+  }
+
+  /**
+   * Is this queue empty?
+   */
+  public boolean isEmpty() {
+    return N == 0;
+  }
+
+  /**
+   * Returns the number of ints in this queue.
+   * @return the number of ints in this queue
+   */
+  public int size() {
+    return N;
+  }
+
+  /**
+   * Returns the int least recently added to this queue.
+   * @return the int least recently added to this queue
+   * @throws java.util.NoSuchElementException if this queue is empty
+   */
+  public int peek() {
+    if(N == 0) {
+      throw new NoSuchElementException("Queue underflow.");
+    }
+    return a[first];
+  }
+
+  /**
+   * Adds the int to this queue.
+   * @param x the int to add
+   */
+  public void enqueue(int x) {
+    if(a.length == N) {
+      resize(2 * a.length);
+    }
+    a[(first + N) & (a.length - 1)] = x;
+    ++N;
+  }
+
+  /**
+   * Removes and returns the int on this queue that was least recently added.
+   * @return the int on this queue that was least recently added
+   * @throws java.util.NoSuchElementException if this queue is empty
+   */
+  public int dequeue() {
+    if(N == 0) {
+      throw new NoSuchElementException("Queue underflow.");
+    }
+    int x = a[first];
+    first = (first + 1) & (a.length - 1);
+    --N;
+    if(N > 0 && N == a.length / 4) {
+      resize(a.length / 2);
+    }
+    return x;
+  }
+
+  /**
+   * Returns the ints in this queue, least recently added first.
+   * @return a new array holding the ints in this queue
+   */
+  public int[] toArray() {
+    int[] result = new int[N];
+    int firstSegment = Math.min(N, a.length - first);
+    System.arraycopy(a, first, result, 0, firstSegment);
+    System.arraycopy(a, 0, result, firstSegment, N - firstSegment);
+    return result;
+  }
+
+  // resize the underlying array holding the elements
+  private void resize(int capacity) {
+    assert capacity >= N && Integer.bitCount(capacity) == 1;
+    int[] temp = new int[capacity];
+    int firstSegment = Math.min(N, a.length - first);
+    System.arraycopy(a, first, temp, 0, firstSegment);
+    System.arraycopy(a, 0, temp, firstSegment, N - firstSegment);
+    first = 0;
+    a = temp;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    IntResizingArrayQueue q = new IntResizingArrayQueue();
+    while (!StdIn.isEmpty()) {
+      String item = StdIn.readString();
+      if (!item.equals("-")) q.enqueue(Integer.parseInt(item));
+      else if (!q.isEmpty()) StdOut.print(q.dequeue() + " ");
+    }
+    StdOut.println("(" + q.size() + " left on queue)");
+  }
+}
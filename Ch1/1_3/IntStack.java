@@ -0,0 +1,116 @@
+/*************************************************************************
+ *  Compilation:  javac IntStack.java
+ *  Execution:    java IntStack < input.txt
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  A stack of ints, implemented using a resizing int[] so pushes and pops
+ *  don't box.
+ *
+ *  % java IntStack < input.txt
+ *  1 2 3 - - 4 -
+ *  3 2 4 (1 left on stack)
+ *
+ *************************************************************************/
+
+import java.util.NoSuchElementException;
+
+/**
+ *  @author Brendan Duke
+ *  The array doubles when full and halves when it is 1/4 full.
+ */
+public class IntStack {
+  private int[] a;
+  private int N = 0; // Number of elements on stack.
+
+  public IntStack() {
+    this(2);
+  }
+
+  /**
+   * Initializes an empty stack with room for <tt>capacity</tt> ints
+   * before the first resize.
+   * @throws java.lang.IllegalArgumentException if capacity < 1
+   */
+  public IntStack(int capacity) {
+    if(capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    a = new int[capacity];
+  }
+
+  /**
+   * Is this stack empty?
+   */
+  public boolean isEmpty() {
+    return N == 0;
+  }
+
+  /**
+   * Returns the number of ints on this stack.
+   * @return the number of ints on this stack
+   */
+  public int size() {
+    return N;
+  }
+
+  /**
+   * Adds the int to this stack.
+   * @param x the int to add
+   */
+  public void push(int x) {
+    if(N == a.length) {
+      resize(2 * a.length);
+    }
+    a[N++] = x;
+  }
+
+  /**
+   * Returns the int most recently added to this stack.
+   * @return the int most recently added to this stack
+   * @throws java.util.NoSuchElementException if this stack is empty
+   */
+  public int peek() {
+    if(N == 0) {
+      throw new NoSuchElementException("Stack underflow.");
+    }
+    return a[N - 1];
+  }
+
+  /**
+   * Removes and returns the int most recently added to this stack.
+   * @return the int most recently added to this stack
+   * @throws java.util.NoSuchElementException if this stack is empty
+   */
+  public int pop() {
+    if(N == 0) {
+      throw new NoSuchElementException("Stack underflow.");
+    }
+    int x = a[--N];
+    if(N > 0 && N == a.length / 4) {
+      resize(a.length / 2);
+    }
+    return x;
+  }
+
+  // resize the underlying array holding the elements
+  private void resize(int capacity) {
+    assert capacity >= N;
+    int[] temp = new int[capacity];
+    System.arraycopy(a, 0, temp, 0, N);
+    a = temp;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    IntStack s = new IntStack();
+    while (!StdIn.isEmpty()) {
+      String item = StdIn.readString();
+      if (!item.equals("-")) s.push(Integer.parseInt(item));
+      else if (!s.isEmpty()) StdOut.print(s.pop() + " ");
+    }
+    StdOut.println("(" + s.size() + " left on stack)");
+  }
+}
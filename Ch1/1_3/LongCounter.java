@@ -0,0 +1,128 @@
+/*************************************************************************
+ *  Compilation:  javac LongCounter.java
+ *  Updated:      Oct. 18, 2026
+ *
+ *  A multiset of long keys: a map from long keys to positive long
+ *  counts, using open addressing with linear probing over primitive
+ *  arrays, so nothing is boxed.
+ *
+ *************************************************************************/
+
+/**
+ *  @author Brendan Duke
+ *  Same table as LongIntHashMap (doubling at 3/4 full, up to 2^30 slots),
+ *  but a count of 0 marks an empty slot, since a key that is present has
+ *  been added at least once. Counts only go up.
+ */
+public class LongCounter {
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private long[] keys;
+  private long[] counts; // 0 = empty slot.
+  private int N = 0; // number of keys.
+  private int mask;
+
+  /**
+   * Initializes an empty counter with room for about <tt>expected</tt>
+   * keys before the first resize.
+   */
+  public LongCounter(int expected) {
+    int capacity = 16;
+    while(capacity < MAX_CAPACITY && capacity / 4 * 3 < expected) {
+      capacity *= 2;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * Returns the number of distinct keys.
+   */
+  public int size() {
+    return N;
+  }
+
+  /**
+   * Returns the count for key, or 0 if key was never added.
+   */
+  public long get(long key) {
+    for(int i = hash(key) & mask; ; i = (i + 1) & mask) {
+      if(counts[i] == 0) {
+        return 0;
+      }
+      if(keys[i] == key) {
+        return counts[i];
+      }
+    }
+  }
+
+  /**
+   * Adds times to the count for key.
+   * @return the new count.
+   * @throws java.lang.IllegalArgumentException if times < 1
+   * @throws java.lang.IllegalStateException if the table can't grow
+   */
+  public long add(long key, long times) {
+    if(times < 1) {
+      throw new IllegalArgumentException("times < 1");
+    }
+    int i = hash(key) & mask;
+    for(; counts[i] != 0; i = (i + 1) & mask) {
+      if(keys[i] == key) {
+        return counts[i] += times;
+      }
+    }
+    if(N >= keys.length / 4 * 3) {
+      if(keys.length == MAX_CAPACITY) {
+        throw new IllegalStateException("counter full");
+      }
+      resize(2 * keys.length);
+      i = hash(key) & mask;
+      while(counts[i] != 0) {
+        i = (i + 1) & mask;
+      }
+    }
+    keys[i] = key;
+    counts[i] = times;
+    ++N;
+    return times;
+  }
+
+  /**
+   * Returns the number of bytes used by the table arrays.
+   */
+  public long memoryBytes() {
+    return 16L * keys.length;
+  }
+
+  // the murmur3 64-bit finalizer, folded to an int.
+  private static int hash(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    counts = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldCounts = counts;
+    allocate(capacity);
+    for(int j = 0; j < oldKeys.length; ++j) {
+      if(oldCounts[j] != 0) {
+        int i = hash(oldKeys[j]) & mask;
+        while(counts[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        counts[i] = oldCounts[j];
+      }
+    }
+  }
+}
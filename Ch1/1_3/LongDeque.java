@@ -0,0 +1,184 @@
+/*************************************************************************
+ *  Compilation:  javac LongDeque.java
+ *  Execution:    java LongDeque < input.txt
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  A deque of longs with the same API as Deque, implemented like
+ *  ResizingArrayDeque but storing a long[] directly so nothing boxes.
+ *  Testing: Use "L number" to pushLeft number, "R number" to pushRight
+ *  number, "l" to popLeft, "r" to popRight, and "print" to print the
+ *  numbers from first to last.
+ *
+ *************************************************************************/
+
+import java.util.NoSuchElementException;
+
+/**
+ *  @author Brendan Duke
+ *  The array doubles when full and halves when it is only 1/4 full.
+ */
+public class LongDeque {
+  private static final int MIN_CAPACITY = 2;
+
+  private long[] a; // circular array of items.
+  private int N = 0; // number of items in the deque.
+  private int first = 0; // index of first item in the deque.
+
+  /**
+   * Initializes an empty deque.
+   */
+  public LongDeque() {
+    a = new long[MIN_CAPACITY];
+  }
+
+  /**
+   * Is the deque empty?
+   * @return true if the deque is empty; false otherwise.
+   */
+  public boolean
+  isEmpty() {
+    return N == 0;
+  }
+
+  /**
+   * Number of items in the deque.
+   * @return number of items in the deque.
+   */
+  public int
+  size() {
+    return N;
+  }
+
+  /**
+   * Add an item to the left end.
+   * @return void.
+   */
+  public void
+  pushLeft(long x) {
+    if(N == a.length) {
+      resize(2 * a.length);
+    }
+    first = (first == 0) ? a.length - 1 : first - 1;
+    a[first] = x;
+    ++N;
+  }
+
+  /**
+   * Add an item to the right end.
+   * @return void.
+   */
+  public void
+  pushRight(long x) {
+    if(N == a.length) {
+      resize(2 * a.length);
+    }
+    a[index(N)] = x;
+    ++N;
+  }
+
+  /**
+   * Remove an item from the left end.
+   * @return the item removed from the left end of the deque.
+   */
+  public long
+  popLeft() {
+    if(N == 0) {
+      throw new NoSuchElementException("Deque underflow");
+    }
+    long x = a[first];
+    first = (first + 1 == a.length) ? 0 : first + 1;
+    --N;
+    shrinkIfSparse();
+    return x;
+  }
+
+  /**
+   * Remove an item from the right end.
+   * @return the item removed from the right end of the deque.
+   */
+  public long
+  popRight() {
+    if(N == 0) {
+      throw new NoSuchElementException("Deque underflow");
+    }
+    long x = a[index(N - 1)];
+    --N;
+    shrinkIfSparse();
+    return x;
+  }
+
+  /**
+   * Returns the item at position i, counting from 0 at the left end.
+   * @throws java.lang.IndexOutOfBoundsException unless 0 <= i < size()
+   */
+  public long
+  get(int i) {
+    if(i < 0 || i >= N) {
+      throw new IndexOutOfBoundsException("index " + i);
+    }
+    return a[index(i)];
+  }
+
+  // maps a position (0 is the left end) to an index into a[].
+  private int index(int i) {
+    int j = first + i;
+    return (j >= a.length) ? j - a.length : j;
+  }
+
+  // halve the array once it is 1/4 full.
+  private void shrinkIfSparse() {
+    if(N > 0 && N == a.length / 4 && a.length / 2 >= MIN_CAPACITY) {
+      resize(a.length / 2);
+    }
+  }
+
+  // resize the underlying array, unwrapping the items to start at 0.
+  private void resize(int capacity) {
+    assert capacity >= N;
+    long[] temp = new long[capacity];
+    int firstSegment = Math.min(N, a.length - first);
+    System.arraycopy(a, first, temp, 0, firstSegment);
+    System.arraycopy(a, 0, temp, firstSegment, N - firstSegment);
+    a = temp;
+    first = 0;
+  }
+
+  @Override
+  public String
+  toString() {
+    StringBuilder result = new StringBuilder("[");
+    for(int i = 0; i < N; ++i) {
+      if(i > 0) {
+        result.append(", ");
+      }
+      result.append(a[index(i)]);
+    }
+    return result.append(']').toString();
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    LongDeque myDeque = new LongDeque();
+    while (!StdIn.isEmpty()) {
+      String item = StdIn.readString();
+      if(item.equals("L")) {
+        myDeque.pushLeft(Long.parseLong(StdIn.readString()));
+      }
+      else if(item.equals("R")) {
+        myDeque.pushRight(Long.parseLong(StdIn.readString()));
+      }
+      else if(item.equals("l")) {
+        myDeque.popLeft();
+      }
+      else if(item.equals("r")) {
+        myDeque.popRight();
+      }
+      else if(item.equals("print")) {
+        System.out.println(myDeque.toString());
+      }
+    }
+  }
+}
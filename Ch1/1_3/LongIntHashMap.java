@@ -0,0 +1,126 @@
+/*************************************************************************
+ *  Compilation:  javac LongIntHashMap.java
+ *  Updated:      Oct. 18, 2026
+ *
+ *  A map from long keys to non-negative int values, using open
+ *  addressing with linear probing over primitive arrays, so nothing is
+ *  boxed.
+ *
+ *************************************************************************/
+
+import java.util.Arrays;
+
+/**
+ *  @author Brendan Duke
+ *  The table doubles once it is 3/4 full, up to 2^30 slots. A value of -1
+ *  marks an empty slot, which is why values must be non-negative.
+ *  There is no remove.
+ */
+public class LongIntHashMap {
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private long[] keys;
+  private int[] values; // -1 = empty slot.
+  private int N = 0; // number of keys.
+  private int mask;
+
+  /**
+   * Initializes an empty map with room for about <tt>expected</tt> keys
+   * before the first resize.
+   */
+  public LongIntHashMap(int expected) {
+    int capacity = 16;
+    while(capacity < MAX_CAPACITY && capacity / 4 * 3 < expected) {
+      capacity *= 2;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * Returns the number of keys in the map.
+   */
+  public int size() {
+    return N;
+  }
+
+  /**
+   * Returns the value for key, or -1 if key isn't in the map.
+   */
+  public int get(long key) {
+    for(int i = hash(key) & mask; ; i = (i + 1) & mask) {
+      if(values[i] < 0) {
+        return -1;
+      }
+      if(keys[i] == key) {
+        return values[i];
+      }
+    }
+  }
+
+  /**
+   * Maps key to value, replacing any old value.
+   * @throws java.lang.IllegalArgumentException if value < 0
+   * @throws java.lang.IllegalStateException if the table can't grow
+   */
+  public void put(long key, int value) {
+    if(value < 0) {
+      throw new IllegalArgumentException("negative value");
+    }
+    if(N >= keys.length / 4 * 3) {
+      if(keys.length == MAX_CAPACITY) {
+        throw new IllegalStateException("map full");
+      }
+      resize(2 * keys.length);
+    }
+    int i = hash(key) & mask;
+    for(; values[i] >= 0; i = (i + 1) & mask) {
+      if(keys[i] == key) {
+        values[i] = value;
+        return;
+      }
+    }
+    keys[i] = key;
+    values[i] = value;
+    ++N;
+  }
+
+  /**
+   * Returns the number of bytes used by the table arrays.
+   */
+  public long memoryBytes() {
+    return 12L * keys.length;
+  }
+
+  // the murmur3 64-bit finalizer, folded to an int.
+  private static int hash(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    Arrays.fill(values, -1);
+    mask = capacity - 1;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for(int j = 0; j < oldKeys.length; ++j) {
+      if(oldValues[j] >= 0) {
+        int i = hash(oldKeys[j]) & mask;
+        while(values[i] >= 0) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+}
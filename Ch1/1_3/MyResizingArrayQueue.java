@@ -1,7 +1,7 @@
 /*************************************************************************
  *  Compilation:  javac MyResizingArrayQueue.java
  *  Execution:    java MyResizingArrayQueue < input.txt
- *  Updated:      Jan. 11, 2015
+ *  Updated:      Oct. 18, 2026
  *
  *  May require I/O library files from Sedgewicks "Algorithms".
  *  http://algs4.cs.princeton.edu/code/
@@ -13,33 +13,54 @@
  *
  *************************************************************************/
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *  @author Brendan Duke
- *  The array resizes if the size of the queue is greater than half the
- *  array size, or less than 1/4.
- *  Dequeueing to 0 or enqueueing past the end of the array causes the queue
- *  to get re-centered in the middle of the array.
- *  A smarter solution would be to wrap around, as in the solution by
+ *  The array doubles when it is full, and halves when the size of the
+ *  queue drops to 1/4 of the array size.
+ *  The queue wraps around the end of the array, as in the solution by
  *  Sedgewick and Wayne at 
- *  <a href="http://algs4.cs.princeton.edu/13stacks/ResizingArrayQueue.java">ResizingArrayQueue</a>.
+ *  <a href="http://algs4.cs.princeton.edu/13stacks/ResizingArrayQueue.java">ResizingArrayQueue</a>,
+ *  so enqueueing and dequeueing at a steady depth never copies.
+ *  The array size is always a power of two, so indices wrap with a mask.
  */
-public class MyResizingArrayQueue<Item> {
+public class MyResizingArrayQueue<Item> implements Iterable<Item> {
+  private static final int MIN_CAPACITY = 2;
+
   private Item[] a;
   private int first = 0; // Index of first element in queue.
-  private int last = 0; // Points one past last element in queue.
+  private int N = 0; // Number of elements in queue.
 
-  @SuppressWarnings("unchecked")
   public MyResizingArrayQueue() {
-    a = (Item[]) new Object[2];
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * Initializes an empty queue with room for at least <tt>capacity</tt>
+   * items before the first resize.
+   * @throws java.lang.IllegalArgumentException if capacity < 1
+   */
+  @SuppressWarnings("unchecked")
+  public MyResizingArrayQueue(int capacity) {
+    if(capacity < 1 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("capacity out of range");
+    }
+    a = (Item[]) new Object[powerOfTwoAtLeast(capacity)];
   }
 
   /**
    * Is this queue empty?
    */
   public boolean isEmpty() {
-    return (last - first) == 0;
+    return N == 0;
   }
 
   /**
@@ -47,7 +68,7 @@ public class MyResizingArrayQueue<Item> {
    * @return the number of items in this queue
    */
   public int size() {
-    return last - first;
+    return N;
   }
 
   /**
@@ -67,13 +88,48 @@ public class MyResizingArrayQueue<Item> {
    * @param item the item to add
    */
   public void enqueue(Item item) {
-    if(a.length == this.size()) {
+    if(a.length == N) {
       resize(2 * a.length);
     }
-    else if(last == a.length) {
-      resize(a.length);
+    a[(first + N) & (a.length - 1)] = item;
+    ++N;
+  }
+
+  /**
+   * Adds all the items in the array to this queue, in order.
+   * @param items the items to add
+   */
+  public void enqueueAll(Item[] items) {
+    ensureCapacity(N + items.length);
+    int mask = a.length - 1;
+    int tail = (first + N) & mask;
+    int firstSegment = Math.min(items.length, a.length - tail);
+    System.arraycopy(items, 0, a, tail, firstSegment);
+    System.arraycopy(items, firstSegment, a, 0, items.length - firstSegment);
+    N += items.length;
+  }
+
+  /**
+   * Adds all the items in the iterable to this queue, in order.
+   * @param items the items to add
+   */
+  public void enqueueAll(Iterable<? extends Item> items) {
+    if(items == this) {
+      // NOTE(brendan): iterating over ourselves would also reach the
+      // items added here, so copy just the N items there are now.
+      int n = N;
+      ensureCapacity(2 * n);
+      for(int i = 0; i < n; ++i) {
+        enqueue(a[(first + i) & (a.length - 1)]);
+      }
+      return;
+    }
+    if(items instanceof Collection) {
+      ensureCapacity(N + ((Collection<?>) items).size());
+    }
+    for(Item item : items) {
+      enqueue(item);
     }
-    a[last++] = item;
   }
 
   /**
@@ -85,29 +141,154 @@ public class MyResizingArrayQueue<Item> {
     if(this.size() == 0) {
       throw new NoSuchElementException("Queue underflow.");
     }
-    else if(this.size() - 1 > 0 && this.size() - 1 == a.length / 4) {
+    Item item = a[first];
+    a[first] = null; // to avoid loitering
+    first = (first + 1) & (a.length - 1);
+    --N;
+    if(N > 0 && N == a.length / 4) {
       resize(a.length / 2);
     }
-    return a[first++];
+    return item;
   }
 
-  // resize the underlying array holding the elements
-  private void resize(int capacity) {
-    int arraySize = this.size();
-    int offset = (capacity - arraySize) / 2;
+  /**
+   * Removes up to <tt>max</tt> items from this queue, least recently added
+   * first, and adds them to the collection.
+   * @param c the collection to add the items to
+   * @param max the maximum number of items to remove
+   * @return the number of items removed
+   */
+  public int drainTo(Collection<? super Item> c, int max) {
+    int n = Math.min(max, N);
+    int drained = 0;
+    try {
+      // one item at a time, so if c.add() throws, the items it didn't
+      // take are still here.
+      for(; drained < n; ++drained) {
+        c.add(a[first]);
+        a[first] = null;
+        first = (first + 1) & (a.length - 1);
+        --N;
+      }
+    }
+    finally {
+      if(N == 0) {
+        first = 0;
+      }
+      else if(drained > 0 && N <= a.length / 4) {
+        resize(powerOfTwoAtLeast(Math.max(2 * N, MIN_CAPACITY)));
+      }
+    }
+    return drained;
+  }
 
-    assert capacity >= arraySize;
+  // grow the array, if needed, to hold at least capacity items.
+  private void ensureCapacity(int capacity) {
+    if(capacity > a.length) {
+      resize(powerOfTwoAtLeast(capacity));
+    }
+  }
+
+  private static int powerOfTwoAtLeast(int n) {
+    return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+
+  // resize the underlying array holding the elements, unwrapping them to
+  // start at index 0
+  private void resize(int capacity) {
+    assert capacity >= N && Integer.bitCount(capacity) == 1;
 
     @SuppressWarnings("unchecked")
     Item[] temp = (Item[]) new Object[capacity];
-    for (int i = 0; i < arraySize; i++) {
-        temp[offset + i] = a[first + i];
-    }
-    first = offset;
-    last = offset + arraySize;
+    int firstSegment = Math.min(N, a.length - first);
+    System.arraycopy(a, first, temp, 0, firstSegment);
+    System.arraycopy(a, 0, temp, firstSegment, N - firstSegment);
+    first = 0;
     a = temp;
   }
 
+  /**
+   * Returns an iterator over the items in this queue, least recently added
+   * first. The queue must not be changed while it is in use.
+   */
+  public Iterator<Item> iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+
+  /**
+   * Returns a spliterator over the items in this queue, least recently
+   * added first. It splits by halving its range of positions. The queue
+   * must not be changed while it is in use.
+   * @return an ORDERED, SIZED and SUBSIZED spliterator.
+   */
+  @Override
+  public Spliterator<Item> spliterator() {
+    return new QueueSpliterator<Item>(a, first, 0, N);
+  }
+
+  /**
+   * Returns a sequential stream of the items in this queue.
+   */
+  public Stream<Item> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream of the items in this queue.
+   */
+  public Stream<Item> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  // covers positions lo..hi-1 counting from the front of the queue.
+  private static class QueueSpliterator<T> implements Spliterator<T> {
+    private final T[] items;
+    private final int start; // index of position 0 in items.
+    private int lo;
+    private final int hi;
+
+    private QueueSpliterator(T[] items, int start, int lo, int hi) {
+      this.items = items;
+      this.start = start;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if(lo >= hi) {
+        return false;
+      }
+      action.accept(items[(start + lo++) & (items.length - 1)]);
+      return true;
+    }
+
+    public void forEachRemaining(Consumer<? super T> action) {
+      int mask = items.length - 1;
+      for(int i = lo; i < hi; ++i) {
+        action.accept(items[(start + i) & mask]);
+      }
+      lo = hi;
+    }
+
+    public Spliterator<T> trySplit() {
+      int mid = (lo + hi) >>> 1;
+      if(mid <= lo) {
+        return null;
+      }
+      QueueSpliterator<T> prefix = new QueueSpliterator<T>(items, start, lo, mid);
+      lo = mid;
+      return prefix;
+    }
+
+    public long estimateSize() {
+      return hi - lo;
+    }
+
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+  }
+
   // NOTE(brendan): testing
   public static void main(String[] args) {
     MyResizingArrayQueue<String> q = new MyResizingArrayQueue<String>();
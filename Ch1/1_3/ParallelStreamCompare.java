@@ -0,0 +1,77 @@
+/*************************************************************************
+ *  Compilation:  javac ParallelStreamCompare.java
+ *  Execution:    java ParallelStreamCompare numberOfValues numberOfTrials
+ *  e.g. java -Xmx6g ParallelStreamCompare 10000000 10
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Times a sum of N Integers with stream() and parallelStream() over
+ *  MyResizingArrayQueue, Deque and DoubleLinked, next to a parallel stream
+ *  over each one's plain iterator (the unsized default spliterator).
+ *
+ *************************************************************************/
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ *  @author Brendan Duke
+ */
+public class ParallelStreamCompare {
+  private static long sink; // keeps the JIT from dropping the sums.
+
+  // stream over an iterator with no size, as Iterable.spliterator() gives.
+  private static Stream<Integer> unsized(Iterable<Integer> items) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+      items.iterator(), Spliterator.ORDERED), true);
+  }
+
+  public static double time(Stream<Integer> stream) {
+    Stopwatch timer = new Stopwatch();
+    sink += stream.mapToLong(Integer::longValue).sum();
+    return timer.elapsedTime();
+  }
+
+  public static void main(String[] args) {
+    int N = Integer.parseInt(args[0]);
+    int T = Integer.parseInt(args[1]);
+
+    MyResizingArrayQueue<Integer> queue = new MyResizingArrayQueue<Integer>();
+    Deque<Integer> deque = new Deque<Integer>();
+    DoubleLinked.Builder<Integer> builder = new DoubleLinked.Builder<Integer>();
+    for(int i = 0; i < N; ++i) {
+      queue.enqueue(i);
+      deque.pushRight(i);
+      builder.append(i);
+    }
+    DoubleLinked<Integer> list = builder.build();
+
+    String[] names = { "MyResizingArrayQueue", "Deque", "DoubleLinked" };
+    double[][] totals = new double[3][3]; // [structure][sequential, parallel, unsized]
+    for(int t = 0; t <= T; ++t) {
+      // NOTE(brendan): trial 0 is a JIT warm-up and isn't counted.
+      double w = (t == 0) ? 0.0 : 1.0;
+      totals[0][0] += w * time(queue.stream());
+      totals[0][1] += w * time(queue.parallelStream());
+      totals[0][2] += w * time(unsized(queue));
+      totals[1][0] += w * time(deque.stream());
+      totals[1][1] += w * time(deque.parallelStream());
+      totals[1][2] += w * time(unsized(deque));
+      totals[2][0] += w * time(list.stream());
+      totals[2][1] += w * time(list.parallelStream());
+      totals[2][2] += w * time(unsized(list));
+    }
+    StdOut.printf("Sum of %d Integers, %d cores, mean of %d trials (s)\n",
+                  N, Runtime.getRuntime().availableProcessors(), T);
+    StdOut.printf("%-22s %10s %10s %10s\n",
+                  "", "stream", "parallel", "unsized");
+    for(int i = 0; i < 3; ++i) {
+      StdOut.printf("%-22s %10.4f %10.4f %10.4f\n", names[i],
+                    totals[i][0]/T, totals[i][1]/T, totals[i][2]/T);
+    }
+  }
+}
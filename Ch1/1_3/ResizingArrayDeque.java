@@ -0,0 +1,228 @@
+/*************************************************************************
+ *  Compilation:  javac ResizingArrayDeque.java
+ *  Execution:    java ResizingArrayDeque < input.txt
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Like a stack or queue but supports adding or removing items at both
+ *  ends. Same API as Deque, implemented using a circular resizing array
+ *  instead of a doubly-linked list, so no node is allocated per push.
+ *  Testing: Use "L string" to pushLeft string, "R string" to pushRight string,
+ *  "l string" to popLeft string, "r string" to popRight string, and "print"
+ *  to print the string from first to last.
+ *
+ *************************************************************************/
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ *  @author Brendan Duke
+ *  The array doubles when full and halves when it is only 1/4 full, so a
+ *  sequence of pushes and pops alternating at a boundary can't cause
+ *  repeated resizing. Vacated slots are set to null to avoid loitering.
+ */
+public class ResizingArrayDeque<Item> implements Iterable<Item> {
+  private static final int MIN_CAPACITY = 2;
+
+  private Item[] a; // circular array of items.
+  private int N = 0; // number of items in the deque.
+  private int first = 0; // index of first item in the deque.
+
+  /**
+   * Initializes an empty deque.
+   */
+  public ResizingArrayDeque() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * Initializes an empty deque with room for <tt>capacity</tt> items
+   * before the first resize.
+   * @throws java.lang.IllegalArgumentException if capacity < 1
+   */
+  @SuppressWarnings("unchecked")
+  public ResizingArrayDeque(int capacity) {
+    if(capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    a = (Item[]) new Object[capacity];
+  }
+
+  /**
+   * Is the deque empty?
+   * @return true if the deque is empty; false otherwise.
+   */
+  public boolean
+  isEmpty() {
+    return N == 0;
+  }
+
+  /**
+   * Number of items in the deque.
+   * @return number of items in the deque.
+   */
+  public int
+  size() {
+    return N;
+  }
+
+  /**
+   * Add an item to the left end.
+   * @return void.
+   */
+  public void
+  pushLeft(Item item) {
+    if(N == a.length) {
+      resize(2 * a.length);
+    }
+    first = (first == 0) ? a.length - 1 : first - 1;
+    a[first] = item;
+    ++N;
+  }
+
+  /**
+   * Add an item to the right end.
+   * @return void.
+   */
+  public void
+  pushRight(Item item) {
+    if(N == a.length) {
+      resize(2 * a.length);
+    }
+    a[index(N)] = item;
+    ++N;
+  }
+
+  /**
+   * Remove an item from the left end.
+   * @return the item removed from the left end of the deque.
+   */
+  public Item
+  popLeft() {
+    if(N == 0) {
+      throw new NoSuchElementException("Deque underflow");
+    }
+    Item item = a[first];
+    a[first] = null;
+    first = (first + 1 == a.length) ? 0 : first + 1;
+    --N;
+    shrinkIfSparse();
+    return item;
+  }
+
+  /**
+   * Remove an item from the right end.
+   * @return the item removed from the right end of the deque.
+   */
+  public Item
+  popRight() {
+    if(N == 0) {
+      throw new NoSuchElementException("Deque underflow");
+    }
+    int lastIndex = index(N - 1);
+    Item item = a[lastIndex];
+    a[lastIndex] = null;
+    --N;
+    shrinkIfSparse();
+    return item;
+  }
+
+  // maps a position (0 is the left end) to an index into a[].
+  private int index(int i) {
+    int j = first + i;
+    return (j >= a.length) ? j - a.length : j;
+  }
+
+  // halve the array once it is 1/4 full.
+  private void shrinkIfSparse() {
+    if(N > 0 && N == a.length / 4 && a.length / 2 >= MIN_CAPACITY) {
+      resize(a.length / 2);
+    }
+  }
+
+  // resize the underlying array, unwrapping the items to start at 0.
+  private void resize(int capacity) {
+    assert capacity >= N;
+
+    @SuppressWarnings("unchecked")
+    Item[] temp = (Item[]) new Object[capacity];
+    int firstSegment = Math.min(N, a.length - first);
+    System.arraycopy(a, first, temp, 0, firstSegment);
+    System.arraycopy(a, 0, temp, firstSegment, N - firstSegment);
+    a = temp;
+    first = 0;
+  }
+
+  @Override
+  public String
+  toString() {
+    StringBuilder result = new StringBuilder("[");
+    for(Iterator<Item> it = this.iterator(); it.hasNext();) {
+      result.append(it.next());
+      if(it.hasNext()) {
+        result.append(", ");
+      }
+    }
+    return result.append(']').toString();
+  }
+
+  /**
+   * Returns an iterator to this deque that iterates through the items in
+   * order from first to last.
+   * @return an iterator to this deque that iterates through the items in
+   * order from first to last.
+   */
+  public Iterator<Item>
+  iterator() {
+    return new ArrayIterator();
+  }
+
+  // an iterator, doesn't implement remove() since it's optional
+  private class ArrayIterator implements Iterator<Item> {
+    private int i = 0;
+
+    public boolean
+    hasNext()  {
+      return i < N;
+    }
+
+    public void
+    remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    public Item
+    next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return a[index(i++)];
+    }
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    ResizingArrayDeque<String> myDeque = new ResizingArrayDeque<String>();
+    while (!StdIn.isEmpty()) {
+      String item = StdIn.readString();
+      if(item.equals("L")) {
+        myDeque.pushLeft(StdIn.readString());
+      }
+      else if(item.equals("R")) {
+        myDeque.pushRight(StdIn.readString());
+      }
+      else if(item.equals("l")) {
+        myDeque.popLeft();
+      }
+      else if(item.equals("r")) {
+        myDeque.popRight();
+      }
+      else if(item.equals("print")) {
+        System.out.println(myDeque.toString());
+      }
+    }
+  }
+}
@@ -0,0 +1,174 @@
+/*************************************************************************
+ *  Compilation: javac RollbackUF.java
+ *  Execution: java RollbackUF < input.txt
+ *  Updated: Oct. 18/26
+ *  
+ *  Weighted quick-union by rank (without path compression) that can undo
+ *  unions back to a checkpoint.
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *************************************************************************/
+
+import java.util.NoSuchElementException;
+
+/**
+ *  The <tt>RollbackUF</tt> class represents a union-find data structure
+ *  whose unions can be undone.
+ *
+ *  It supports the <em>union</em> and <em>find</em> operations, along with
+ *  methods for determinig whether two objects are in the same component
+ *  and the total number of components, plus <em>checkpoint</em> and
+ *  <em>rollback</em>.
+ *  <p>
+ *  Sites are packed into one int array (a parent, or -(rank + 1) at a
+ *  root). Every union that links two roots pushes what it changed onto
+ *  an undo stack; <em>rollback</em> pops back to the most recent
+ *  <em>checkpoint</em>. Paths are never compressed, since compression
+ *  would change the parents of sites the undo stack knows nothing about,
+ *  so <em>find</em> takes logarithmic time (in the worst case) and
+ *  undoing one union takes constant time.
+ *  <p>
+ *  @author Brendan Duke
+ */
+public class RollbackUF {
+  private final int[] id; // id[i] = parent of i, or -(rank + 1) at a root
+  private int count; // number of componenets
+  // (linked root, its old id value, 1 if the other root's rank went up)
+  // for each union, in order.
+  private final IntStack history = new IntStack();
+  private final IntStack checkpoints = new IntStack(); // history sizes.
+
+  /**
+   * Initializes an empty union-find data structure with N isolated
+   * components 0 through N-1.
+   * @throws java.lang.IllegalArgumentException if N < 0
+   * @param N the number of objects
+   */
+  public RollbackUF(int N) {
+    if(N < 0) {
+      throw new IllegalArgumentException("N < 0");
+    }
+    count = N;
+    id = new int[N];
+    for(int i = 0; i < N; ++i) {
+      id[i] = -1;
+    }
+  }
+
+  /**
+   * Returns the number of components.
+   * @return the number of components (between 1 and N)
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Returns the component identifier for the component containing site
+   * <tt>p</tt>.  @param p the integer representing one site
+   * @return the component identifier for the component containing site
+   * <tt>p</tt> @throws java.lang.IndexOutOfBoundsException unless 0 <= p < N
+   */
+  public int find(int p) {
+    while(id[p] >= 0) {
+      p = id[p];
+    }
+    return p;
+  }
+
+  /**
+   * Are the two sites <tt>p</tt> and <tt>q</tt> in the same component?
+   * @throws java.lang.IndexOutOfBoundsException unless both 0 <= p < N and 
+   * 0 <= q < N
+   */
+  public boolean connected(int p, int q) {
+    return find(p) == find(q);
+  }
+
+  /**
+   * Merges the component containing site<tt>p</tt> with the component
+   * containing site <tt>q</tt>.
+   * @return <tt>true</tt> if two components were merged
+   * @throws java.lang.IndexOutOfBoundsException unless both 0 <= p < N and 
+   * 0 <= q < N
+   */
+  public boolean union(int p, int q) {
+    int rootP = find(p);
+    int rootQ = find(q);
+    if (rootP == rootQ) {
+      return false;
+    }
+    // link the lower-rank root (the one holding the larger value) below.
+    if(id[rootP] < id[rootQ]) {
+      int temp = rootP;
+      rootP = rootQ;
+      rootQ = temp;
+    }
+    int bumped = (id[rootP] == id[rootQ]) ? 1 : 0;
+    history.push(rootP);
+    history.push(id[rootP]);
+    history.push(bumped);
+    id[rootP] = rootQ;
+    id[rootQ] -= bumped;
+    count--;
+    return true;
+  }
+
+  /**
+   * Remembers the current state, for the next rollback().
+   */
+  public void checkpoint() {
+    checkpoints.push(history.size());
+  }
+
+  /**
+   * Undoes every union since the most recent checkpoint that hasn't been
+   * rolled back yet, and forgets that checkpoint.
+   * @throws java.util.NoSuchElementException if there is no checkpoint
+   */
+  public void rollback() {
+    if(checkpoints.isEmpty()) {
+      throw new NoSuchElementException("no checkpoint");
+    }
+    int target = checkpoints.pop();
+    while(history.size() > target) {
+      int bumped = history.pop();
+      int old = history.pop();
+      int child = history.pop();
+      int root = id[child];
+      id[root] += bumped;
+      id[child] = old;
+      count++;
+    }
+  }
+
+  /**
+   * Reads in N and then commands from standard input: "u p q" to union
+   * p and q, "c p q" to print whether they are connected, "save" to
+   * checkpoint and "undo" to roll back.
+   */
+  public static void main(String[] args) {
+    int N = StdIn.readInt();
+    RollbackUF uf = new RollbackUF(N);
+    while (!StdIn.isEmpty()) {
+      String command = StdIn.readString();
+      if(command.equals("u")) {
+        uf.union(StdIn.readInt(), StdIn.readInt());
+      }
+      else if(command.equals("c")) {
+        int p = StdIn.readInt();
+        int q = StdIn.readInt();
+        StdOut.println(p + " " + q + " " + uf.connected(p, q));
+      }
+      else if(command.equals("save")) {
+        uf.checkpoint();
+      }
+      else if(command.equals("undo")) {
+        uf.rollback();
+      }
+    }
+    StdOut.println(uf.count() + " components");
+  }
+}
@@ -0,0 +1,23 @@
+/*************************************************************************
+ *  Compilation:  javac Serializer.java
+ *  Updated:      Oct. 18, 2026
+ *
+ *  Converts items to and from bytes in a ByteBuffer. Used by
+ *  SpillingQueue for its segment files and by Snapshot for the binary
+ *  snapshots of Deque and DoubleLinked.
+ *
+ *************************************************************************/
+
+import java.nio.ByteBuffer;
+
+/**
+ *  @author Brendan Duke
+ *  write() must leave the buffer positioned after the item's bytes; it may
+ *  throw java.nio.BufferOverflowException if the item doesn't fit, and the
+ *  caller will retry with more room. read() is given a buffer whose limit
+ *  is the end of the item's bytes.
+ */
+public interface Serializer<T> {
+  void write(T item, ByteBuffer out);
+  T read(ByteBuffer in);
+}
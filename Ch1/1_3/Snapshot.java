@@ -0,0 +1,169 @@
+/*************************************************************************
+ *  Compilation:  javac Snapshot.java
+ *  Updated:      Oct. 18, 2026
+ *
+ *  A compact binary format for saving and restoring a sequence of items:
+ *  an int magic number, an int count, then one record per item (an int
+ *  length followed by the bytes a Serializer wrote for it).
+ *  Used by Deque and DoubleLinked.
+ *
+ *************************************************************************/
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ *  @author Brendan Duke
+ *  Items are streamed through one reused buffer, which only grows if a
+ *  single item is bigger than it.
+ */
+public class Snapshot {
+  private static final int MAGIC = 0x534e4150; // "SNAP"
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private Snapshot() {}
+
+  /**
+   * Writes N items to the channel.
+   * @param items the items, which must number exactly N
+   * @throws java.lang.IllegalArgumentException if there aren't N items
+   */
+  public static <T>
+  void write(Iterable<? extends T> items, int N, Serializer<? super T> codec,
+             WritableByteChannel out) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    buffer.putInt(MAGIC);
+    buffer.putInt(N);
+    int written = 0;
+    for(T item : items) {
+      for(;;) {
+        int start = buffer.position();
+        try {
+          if(buffer.remaining() < 4) {
+            throw new BufferOverflowException();
+          }
+          buffer.position(start + 4);
+          codec.write(item, buffer);
+          buffer.putInt(start, buffer.position() - start - 4);
+          break;
+        }
+        catch(BufferOverflowException e) {
+          buffer.position(start);
+          if(start == 0) {
+            buffer = ByteBuffer.allocate(2 * buffer.capacity());
+          }
+          else {
+            drain(buffer, out);
+          }
+        }
+      }
+      ++written;
+    }
+    if(written != N) {
+      throw new IllegalArgumentException(
+        "expected " + N + " items, got " + written);
+    }
+    drain(buffer, out);
+  }
+
+  private static void drain(ByteBuffer buffer, WritableByteChannel out)
+    throws IOException {
+    buffer.flip();
+    while(buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Reads the items of a snapshot back one at a time, in order.
+   */
+  public static class Reader<T> {
+    private final ReadableByteChannel in;
+    private final Serializer<T> codec;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final int N;
+    private int read = 0;
+
+    /**
+     * Reads the snapshot header.
+     * @throws java.io.StreamCorruptedException if this isn't a snapshot.
+     */
+    public Reader(ReadableByteChannel in, Serializer<T> codec)
+      throws IOException {
+      this.in = in;
+      this.codec = codec;
+      buffer.flip();
+      fill(8);
+      if(buffer.getInt() != MAGIC) {
+        throw new StreamCorruptedException("not a snapshot");
+      }
+      N = buffer.getInt();
+      if(N < 0) {
+        throw new StreamCorruptedException("negative item count");
+      }
+    }
+
+    /**
+     * Returns the number of items in the snapshot.
+     */
+    public int size() {
+      return N;
+    }
+
+    /**
+     * Are there more items to read?
+     */
+    public boolean hasNext() {
+      return read < N;
+    }
+
+    /**
+     * Reads the next item.
+     * @throws java.io.EOFException if the snapshot is cut short.
+     */
+    public T next() throws IOException {
+      fill(4);
+      int length = buffer.getInt();
+      if(length < 0) {
+        throw new StreamCorruptedException("negative record length");
+      }
+      fill(length);
+      int start = buffer.position();
+      int limit = buffer.limit();
+      buffer.limit(start + length);
+      T item = codec.read(buffer);
+      buffer.limit(limit);
+      buffer.position(start + length);
+      ++read;
+      return item;
+    }
+
+    // make sure at least n bytes are buffered.
+    private void fill(int n) throws IOException {
+      if(buffer.remaining() >= n) {
+        return;
+      }
+      if(buffer.capacity() < n) {
+        ByteBuffer bigger = ByteBuffer.allocate(
+          Math.max(n, 2 * buffer.capacity()));
+        bigger.put(buffer);
+        buffer = bigger;
+      }
+      else {
+        buffer.compact();
+      }
+      while(buffer.position() < n) {
+        if(in.read(buffer) < 0) {
+          throw new EOFException("snapshot cut short");
+        }
+      }
+      buffer.flip();
+    }
+  }
+}
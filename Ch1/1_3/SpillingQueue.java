@@ -0,0 +1,391 @@
+/*************************************************************************
+ *  Compilation:  javac SpillingQueue.java
+ *  Execution:    java SpillingQueue numberOfItems memoryItems segmentBytes
+ *  e.g. java SpillingQueue 100000000 100000 67108864
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  A FIFO queue that keeps its head and tail in memory and spills
+ *  everything in between to fixed-size segment files, so a huge backlog
+ *  costs disk rather than heap.
+ *
+ *************************************************************************/
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ *  @author Brendan Duke
+ *  Items are enqueued onto an in-memory tail. Once the tail holds
+ *  memoryItems/2 items it is written out, oldest first, as records
+ *  (int length, then the serialized bytes) into segment files. Dequeues
+ *  come from an in-memory head, which is refilled with up to
+ *  memoryItems/2 items from the oldest segment, or from the tail once
+ *  nothing is on disk. Segments that have been read completely are kept
+ *  for reuse rather than deleted and re-created.
+ *  Segments are written and read sequentially, with positional channel I/O
+ *  through one small write window and one small read window, rather than
+ *  mapped: a mapping would hold its file's pages until the garbage
+ *  collector got around to the buffer, even after close(). A window grows,
+ *  up to segmentBytes, only for a record that doesn't fit in it.
+ *  Call close() to delete the segment files.
+ */
+public class SpillingQueue<Item> implements Closeable {
+  private static final int MAX_FREE_SEGMENTS = 4;
+  private static final int WINDOW_BYTES = 1 << 16;
+
+  private final Serializer<Item> serializer;
+  private final int halfMemory; // items in head or tail before spilling.
+  private final int segmentBytes;
+  private final Path directory;
+
+  private MyResizingArrayQueue<Item> head = new MyResizingArrayQueue<Item>();
+  private MyResizingArrayQueue<Item> tail = new MyResizingArrayQueue<Item>();
+  private final MyResizingArrayQueue<Segment> spilled =
+    new MyResizingArrayQueue<Segment>(); // oldest first.
+  private final MyResizingArrayQueue<Segment> free =
+    new MyResizingArrayQueue<Segment>();
+  private Segment newest; // the segment being written to, if any.
+  private Segment reading; // the segment the read window holds, if any.
+  private long onDisk = 0; // number of items in spilled segments.
+  // records for newest not yet written to its file.
+  private ByteBuffer writeWindow;
+  // bytes of reading, up to its readPosition, not yet deserialized.
+  private ByteBuffer readWindow;
+
+  private static class Segment {
+    private final Path path;
+    private final FileChannel channel;
+    private int readPosition = 0; // end of the bytes read from the file.
+    private int writePosition = 0; // end of the bytes written to the file.
+    private int count = 0; // records written but not yet read.
+
+    private Segment(Path path) throws IOException {
+      this.path = path;
+      channel = FileChannel.open(path, StandardOpenOption.READ,
+                                 StandardOpenOption.WRITE);
+    }
+
+    private void reset() {
+      readPosition = 0;
+      writePosition = 0;
+      count = 0;
+    }
+
+    private void close() throws IOException {
+      channel.close();
+      Files.deleteIfExists(path);
+    }
+  };
+
+  /**
+   * Initializes an empty queue.
+   * @param serializer converts items to and from bytes
+   * @param memoryItems roughly the most items kept on the heap at once
+   * @param segmentBytes the size of each segment file
+   * @param directory where to create the segment files
+   * @throws java.lang.IllegalArgumentException if memoryItems < 2 or
+   * segmentBytes < 8
+   */
+  public SpillingQueue(Serializer<Item> serializer, int memoryItems,
+                       int segmentBytes, Path directory) {
+    if(memoryItems < 2 || segmentBytes < 8) {
+      throw new IllegalArgumentException("memory budget too small");
+    }
+    this.serializer = serializer;
+    this.halfMemory = memoryItems / 2;
+    this.segmentBytes = segmentBytes;
+    this.directory = directory;
+    int window = Math.min(WINDOW_BYTES, segmentBytes);
+    writeWindow = ByteBuffer.allocate(window);
+    readWindow = ByteBuffer.allocate(window);
+    readWindow.flip(); // empty.
+  }
+
+  /**
+   * Is this queue empty?
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Returns the number of items in this queue, in memory and on disk.
+   */
+  public long size() {
+    return head.size() + onDisk + tail.size();
+  }
+
+  /**
+   * Adds the item to this queue.
+   * @param item the item to add
+   * @throws java.io.UncheckedIOException if spilling to disk fails
+   */
+  public void enqueue(Item item) {
+    if(onDisk == 0 && tail.isEmpty() && head.size() < halfMemory) {
+      head.enqueue(item);
+      return;
+    }
+    tail.enqueue(item);
+    if(tail.size() >= halfMemory) {
+      spillTail();
+    }
+  }
+
+  /**
+   * Removes and returns the item on this queue that was least recently added.
+   * @return the item on this queue that was least recently added
+   * @throws java.util.NoSuchElementException if this queue is empty
+   * @throws java.io.UncheckedIOException if reading from disk fails
+   */
+  public Item dequeue() {
+    if(head.isEmpty()) {
+      if(onDisk > 0) {
+        refillHead();
+      }
+      else {
+        MyResizingArrayQueue<Item> temp = head;
+        head = tail;
+        tail = temp;
+      }
+    }
+    if(head.isEmpty()) {
+      throw new NoSuchElementException("Queue underflow.");
+    }
+    return head.dequeue();
+  }
+
+  // write every item in the tail to the newest segment(s).
+  private void spillTail() {
+    try {
+      while(!tail.isEmpty()) {
+        if(newest == null || !append(newest, tail.peek())) {
+          Segment s = newSegment();
+          if(!append(s, tail.peek())) {
+            recycle(s);
+            throw new IllegalArgumentException(
+              "item larger than segmentBytes");
+          }
+          spilled.enqueue(s);
+        }
+        tail.dequeue();
+        ++onDisk;
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // try to write one record to newest; false if it doesn't fit.
+  private boolean append(Segment s, Item item) throws IOException {
+    for(;;) {
+      ByteBuffer buffer = writeWindow;
+      int start = buffer.position();
+      int room = segmentBytes - s.writePosition; // from the window's start.
+      buffer.limit(Math.min(buffer.capacity(), room));
+      if(buffer.limit() - start >= 4) {
+        buffer.position(start + 4);
+        try {
+          serializer.write(item, buffer);
+          buffer.putInt(start, buffer.position() - start - 4);
+          ++s.count;
+          return true;
+        }
+        catch(BufferOverflowException e) {
+          buffer.position(start);
+        }
+      }
+      // make room: write out the window, or grow it if it was empty.
+      if(start > 0) {
+        flush(s);
+      }
+      else if(buffer.capacity() < room) {
+        writeWindow = ByteBuffer.allocate(
+          (int) Math.min(room, 2L * buffer.capacity()));
+      }
+      else {
+        return false;
+      }
+    }
+  }
+
+  // write the write window to the end of the segment's file.
+  private void flush(Segment s) throws IOException {
+    ByteBuffer buffer = writeWindow;
+    buffer.flip();
+    int n = buffer.remaining();
+    while(buffer.hasRemaining()) {
+      s.channel.write(buffer, s.writePosition + buffer.position());
+    }
+    s.writePosition += n;
+    buffer.clear();
+  }
+
+  // move up to halfMemory items from the oldest segments to the head.
+  private void refillHead() {
+    try {
+      while(head.size() < halfMemory && onDisk > 0) {
+        Segment s = spilled.peek();
+        if(s == newest) {
+          flush(s); // the records to read may still be in the write window.
+        }
+        if(s != reading) {
+          reading = s;
+          readWindow.clear();
+          readWindow.flip();
+        }
+        fill(s, 4);
+        int length = readWindow.getInt();
+        fill(s, length);
+        int end = readWindow.limit();
+        int next = readWindow.position() + length;
+        readWindow.limit(next);
+        head.enqueue(serializer.read(readWindow));
+        readWindow.limit(end);
+        readWindow.position(next);
+        --s.count;
+        --onDisk;
+        if(s.count == 0) {
+          recycle(spilled.dequeue());
+        }
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // read from the segment until the read window holds at least n bytes.
+  private void fill(Segment s, int n) throws IOException {
+    if(readWindow.remaining() >= n) {
+      return;
+    }
+    if(readWindow.capacity() < n) {
+      ByteBuffer bigger = ByteBuffer.allocate(n);
+      bigger.put(readWindow);
+      readWindow = bigger;
+    }
+    else {
+      readWindow.compact();
+    }
+    // only up to writePosition: a reused file has stale bytes past it.
+    readWindow.limit(Math.min(readWindow.capacity(), readWindow.position()
+                              + s.writePosition - s.readPosition));
+    while(readWindow.position() < n) {
+      int read = s.channel.read(readWindow, s.readPosition);
+      if(read <= 0) {
+        throw new EOFException(s.path + " ends inside a record");
+      }
+      s.readPosition += read;
+    }
+    readWindow.flip();
+  }
+
+  private Segment newSegment() throws IOException {
+    Segment s = free.isEmpty()
+      ? new Segment(Files.createTempFile(directory, "spill", ".seg"))
+      : free.dequeue();
+    if(newest != null) {
+      flush(newest);
+    }
+    newest = s;
+    return s;
+  }
+
+  private void recycle(Segment s) {
+    if(s == newest) {
+      newest = null;
+      writeWindow.clear();
+    }
+    if(s == reading) {
+      reading = null;
+    }
+    try {
+      if(free.size() < MAX_FREE_SEGMENTS) {
+        s.reset();
+        free.enqueue(s);
+      }
+      else {
+        s.close();
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Deletes all segment files. The queue must not be used afterwards.
+   */
+  public void close() throws IOException {
+    while(!spilled.isEmpty()) {
+      spilled.dequeue().close();
+    }
+    while(!free.isEmpty()) {
+      free.dequeue().close();
+    }
+    newest = null;
+    reading = null;
+    onDisk = 0;
+  }
+
+  // NOTE(brendan): testing. Enqueue 0..N-1 in bursts, dequeue some between
+  // bursts, and check everything comes out in order.
+  public static void main(String[] args) throws IOException {
+    long N = Long.parseLong(args[0]);
+    int memoryItems = Integer.parseInt(args[1]);
+    int segmentBytes = Integer.parseInt(args[2]);
+    Serializer<Long> longs = new Serializer<Long>() {
+      public void write(Long item, ByteBuffer out) {
+        out.putLong(item);
+      }
+      public Long read(ByteBuffer in) {
+        return in.getLong();
+      }
+    };
+    Path tmp = Paths.get(System.getProperty("java.io.tmpdir"));
+    SpillingQueue<Long> q =
+      new SpillingQueue<Long>(longs, memoryItems, segmentBytes, tmp);
+    Stopwatch timer = new Stopwatch();
+    long next = 0;
+    long expected = 0;
+    long maxSize = 0;
+    try {
+      while(next < N) {
+        long burst = Math.min(N, next + 10L * memoryItems);
+        for(; next < burst; ++next) {
+          q.enqueue(next);
+        }
+        maxSize = Math.max(maxSize, q.size());
+        for(long i = q.size() / 2; i > 0; --i) {
+          if(q.dequeue() != expected++) {
+            throw new IllegalStateException("out of order at " + (expected - 1));
+          }
+        }
+      }
+      while(!q.isEmpty()) {
+        if(q.dequeue() != expected++) {
+          throw new IllegalStateException("out of order at " + (expected - 1));
+        }
+      }
+    }
+    finally {
+      q.close();
+    }
+    StdOut.printf("%d items in order, at most %d queued, %.2f s\n",
+                  expected, maxSize, timer.elapsedTime());
+  }
+}
@@ -0,0 +1,95 @@
+/*************************************************************************
+ *  Compilation:  javac StreamingThreeSum.java
+ *  Execution:    java StreamingThreeSum input.txt
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Keeps the number of triples that sum to exactly 0 up to date as
+ *  integers arrive one at a time, instead of recounting from scratch.
+ *  Testing: reads the integers in input.txt one at a time, then checks the
+ *  running count against ThreeSumFaster's batch count.
+ *
+ *************************************************************************/
+
+import java.util.Arrays;
+
+/**
+ *  @author Brendan Duke
+ *  Keeps how many times each value has arrived, and how many pairs of
+ *  earlier arrivals have each sum. When x arrives, every pair summing to
+ *  -x makes a new triple with x, and x makes a new pair with every
+ *  earlier arrival. So an arrival costs one lookup plus one update per
+ *  distinct value seen so far, and duplicates are fine.
+ *  The pair table can hold up to (distinct values)^2 sums.
+ */
+public class StreamingThreeSum {
+  private final LongCounter values = new LongCounter(16); // value -> times.
+  private final LongCounter pairSums = new LongCounter(16); // sum -> pairs.
+  private int[] distinct = new int[16]; // every value seen, once each.
+  private int D = 0; // number of distinct values.
+  private long N = 0; // number of arrivals.
+  private long count = 0; // number of zero-sum triples so far.
+
+  /**
+   * Adds x to the stream.
+   * @return the number of new zero-sum triples that end with x.
+   */
+  public long add(int x) {
+    long triples = pairSums.get(-(long) x);
+    count += triples;
+    for(int i = 0; i < D; ++i) {
+      pairSums.add((long) distinct[i] + x, values.get(distinct[i]));
+    }
+    if(values.add(x, 1) == 1) {
+      if(D == distinct.length) {
+        distinct = Arrays.copyOf(distinct, 2 * D);
+      }
+      distinct[D++] = x;
+    }
+    ++N;
+    return triples;
+  }
+
+  /**
+   * Returns the number of triples (i, j, k) with i < j < k of arrivals
+   * so far such that a[i] + a[j] + a[k] == 0.
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Returns the number of integers added so far.
+   */
+  public long size() {
+    return N;
+  }
+
+  /**
+   * Reads integers from a file, adds them one at a time, and checks the
+   * count after each tenth of the input against the batch count.
+   */
+  public static void main(String[] args) {
+    In in = new In(args[0]);
+    int[] a = in.readAllInts();
+    StreamingThreeSum stream = new StreamingThreeSum();
+    Stopwatch timer = new Stopwatch();
+    double streaming = 0.0;
+    int step = Math.max(1, a.length / 10);
+    for(int i = 0; i < a.length; ++i) {
+      stream.add(a[i]);
+      if((i + 1) % step == 0 || i + 1 == a.length) {
+        streaming += timer.elapsedTime();
+        long expected = ThreeSumFaster.countWithDuplicates(
+          Arrays.copyOf(a, i + 1));
+        StdOut.printf("%d integers: %d triples (%s)\n", i + 1,
+                      stream.count(),
+                      (stream.count() == expected) ? "ok" : "MISMATCH");
+        timer = new Stopwatch();
+      }
+    }
+    StdOut.printf("%.2f s streaming\n", streaming);
+  }
+}
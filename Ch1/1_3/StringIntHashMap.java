@@ -0,0 +1,123 @@
+/*************************************************************************
+ *  Compilation:  javac StringIntHashMap.java
+ *  Updated:      Oct. 18, 2026
+ *
+ *  A map from String keys to non-negative int values, using open
+ *  addressing with linear probing with a primitive int[] of values, so
+ *  nothing is boxed.
+ *
+ *************************************************************************/
+
+import java.util.Arrays;
+
+/**
+ *  @author Brendan Duke
+ *  The table doubles once it is 3/4 full, up to 2^30 slots. A value of -1
+ *  marks an empty slot, which is why values must be non-negative.
+ *  There is no remove.
+ */
+public class StringIntHashMap {
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private String[] keys;
+  private int[] values; // -1 = empty slot.
+  private int N = 0; // number of keys.
+  private int mask;
+
+  /**
+   * Initializes an empty map with room for about <tt>expected</tt> keys
+   * before the first resize.
+   */
+  public StringIntHashMap(int expected) {
+    int capacity = 16;
+    while(capacity < MAX_CAPACITY && capacity / 4 * 3 < expected) {
+      capacity *= 2;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * Returns the number of keys in the map.
+   */
+  public int size() {
+    return N;
+  }
+
+  /**
+   * Returns the value for key, or -1 if key isn't in the map.
+   */
+  public int get(String key) {
+    for(int i = hash(key) & mask; ; i = (i + 1) & mask) {
+      if(values[i] < 0) {
+        return -1;
+      }
+      if(keys[i].equals(key)) {
+        return values[i];
+      }
+    }
+  }
+
+  /**
+   * Maps key to value, replacing any old value.
+   * @throws java.lang.IllegalArgumentException if value < 0
+   * @throws java.lang.IllegalStateException if the table can't grow
+   */
+  public void put(String key, int value) {
+    if(value < 0) {
+      throw new IllegalArgumentException("negative value");
+    }
+    if(key == null) {
+      throw new NullPointerException("null key");
+    }
+    if(N >= keys.length / 4 * 3) {
+      if(keys.length == MAX_CAPACITY) {
+        throw new IllegalStateException("map full");
+      }
+      resize(2 * keys.length);
+    }
+    int i = hash(key) & mask;
+    for(; values[i] >= 0; i = (i + 1) & mask) {
+      if(keys[i].equals(key)) {
+        values[i] = value;
+        return;
+      }
+    }
+    keys[i] = key;
+    values[i] = value;
+    ++N;
+  }
+
+  // String.hashCode() spread by the murmur3 32-bit finalizer.
+  private static int hash(String key) {
+    int h = key.hashCode();
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  private void allocate(int capacity) {
+    keys = new String[capacity];
+    values = new int[capacity];
+    Arrays.fill(values, -1);
+    mask = capacity - 1;
+  }
+
+  private void resize(int capacity) {
+    String[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for(int j = 0; j < oldKeys.length; ++j) {
+      if(oldValues[j] >= 0) {
+        int i = hash(oldKeys[j]) & mask;
+        while(values[i] >= 0) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+}
@@ -1,7 +1,7 @@
 /*************************************************************************
  *  Compilation:  javac ThreeSumFaster.java
  *  Execution:    java ThreeSumFaster input.txt
- *  Updated:      
+ *  Updated:      Oct. 18, 2026
  *  
  *  May require I/O library files from Sedgewicks "Algorithms".
  *  http://algs4.cs.princeton.edu/code/
@@ -12,6 +12,8 @@
  *************************************************************************/
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  *  @author Brendan Duke
@@ -29,51 +31,350 @@ public class ThreeSumFaster {
      * @return the number of
      * triples (i, j, k) with i < j < k such that a[i] + a[j] + a[k] == 0
      */
-  public static int count(int[] a) {
+  public static long count(int[] a) {
     int N = a.length;
     Arrays.sort(a);
     if (containsDuplicates(a)) {
       throw new IllegalArgumentException(
           "array contains duplicate integers");
     }
+    long count = 0; // an int overflows from N near 400,000.
+    for (int i = 0; i < N; i++) {
+      count += countFrom(a, i);
+    }
+    return count;
+  }
+
+  // the number of triples (i, j, k) with i < j < k that sum to 0, in the
+  // sorted array a[].
+  private static int countFrom(int[] a, int i) {
     int count = 0;
-    for (int i = 0, front = 1, back = N - 1; 
-         i < N; 
-         i++, front = i + 1, back = N - 1) {
-      while(front < back) {
-        if(back == i) {
+    for (int front = i + 1, back = a.length - 1; front < back;) {
+      long sum = (long) a[i] + a[front] + a[back]; // can't overflow.
+      if(sum > 0) {
+        --back;
+      }
+      else if(sum < 0) {
+        ++front;
+      }
+      else {
+        ++count;
+        ++front;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of triples (i, j, k) with i < j < k such that
+   * a[i] + a[j] + a[k] == 0, where a[] may contain duplicates.
+   * The sorted array is compressed into runs of (value, multiplicity), and
+   * each triple of values that sums to 0 contributes the number of ways to
+   * choose its indices, so the scan is quadratic in the number of distinct
+   * values rather than in N.
+   * @param a the array of integers
+   * @return the number of triples (i, j, k) with i < j < k such that
+   * a[i] + a[j] + a[k] == 0
+   * @throws java.lang.ArithmeticException if the count overflows a long
+   */
+  public static long countWithDuplicates(int[] a) {
+    Arrays.sort(a);
+    int K = 0; // number of distinct values.
+    int[] value = new int[a.length];
+    long[] times = new long[a.length];
+    for (int i = 0; i < a.length; i++) {
+      if (K == 0 || a[i] != value[K-1]) {
+        value[K++] = a[i];
+      }
+      ++times[K-1];
+    }
+
+    long count = 0;
+    for (int i = 0; i < K; i++) {
+      for (int front = i, back = K - 1; front <= back;) {
+        long sum = (long) value[i] + value[front] + value[back];
+        if(sum > 0) {
           --back;
         }
-        else if(front == i) {
+        else if(sum < 0) {
           ++front;
         }
         else {
-          if(a[back] > -(a[front] + a[i])) {
-            --back;
+          long ways;
+          if(front == i && back == i) {
+            ways = choose3(times[i]);
           }
-          else if(a[back] < -(a[front] + a[i])) {
-            ++front;
+          else if(front == i) {
+            ways = Math.multiplyExact(choose2(times[i]), times[back]);
+          }
+          else if(front == back) {
+            ways = Math.multiplyExact(times[i], choose2(times[front]));
           }
           else {
-            assert (a[back] + a[front] + a[i] == 0);
-            ++count;
-            ++front;
+            ways = Math.multiplyExact(Math.multiplyExact(times[i],
+                                                         times[front]),
+                                      times[back]);
+          }
+          count = Math.addExact(count, ways);
+          ++front;
+          --back;
+        }
+      }
+    }
+    return count;
+  }
+
+  // n choose 2, for n < 2^31.
+  private static long choose2(long n) {
+    return n * (n - 1) / 2;
+  }
+
+  // n choose 3, which fits in a long for n <= 3,810,779; throws
+  // ArithmeticException above that. The factors are divided by 3 and by 2
+  // before they are multiplied, so only the result can overflow.
+  private static long choose3(long n) {
+    long[] f = { n, n - 1, n - 2 };
+    for(int i = 0; i < 3; ++i) {
+      if(f[i] % 3 == 0) {
+        f[i] /= 3;
+        break;
+      }
+    }
+    // dividing by 3 kept every factor's parity.
+    for(int i = 0; i < 3; ++i) {
+      if(f[i] % 2 == 0) {
+        f[i] /= 2;
+        break;
+      }
+    }
+    return Math.multiplyExact(Math.multiplyExact(f[0], f[1]), f[2]);
+  }
+
+  /**
+   * Same as count(), but sorts with Arrays.parallelSort() and splits the
+   * outer loop across the pool.
+   * @return the number of triples (i, j, k) with i < j < k such that
+   * a[i] + a[j] + a[k] == 0
+   */
+  public static long countParallel(int[] a, ForkJoinPool pool) {
+    Arrays.parallelSort(a);
+    if (containsDuplicates(a)) {
+      throw new IllegalArgumentException(
+          "array contains duplicate integers");
+    }
+    return pool.invoke(new CountTask(a, 0, a.length));
+  }
+
+  // counts the triples for outer indices lo..hi-1. The two-pointer scan for
+  // i takes N - 1 - i steps, so ranges are split where the steps (not the
+  // indices) halve: chunks get narrower towards i = 0.
+  private static class CountTask extends RecursiveTask<Long> {
+    private static final long serialVersionUID = 1L;
+    private static final long CUTOFF = 1L << 22; // steps per leaf task.
+
+    private final int[] a;
+    private final int lo;
+    private final int hi;
+
+    private CountTask(int[] a, int lo, int hi) {
+      this.a = a;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    // steps taken by all of i = 0..i-1.
+    private long stepsBefore(int i) {
+      return (long) i * (a.length - 1) - (long) i * (i - 1) / 2;
+    }
+
+    @Override
+    protected Long compute() {
+      long steps = stepsBefore(hi) - stepsBefore(lo);
+      if(steps <= CUTOFF || hi - lo == 1) {
+        long count = 0;
+        for(int i = lo; i < hi; ++i) {
+          count += countFrom(a, i);
+        }
+        return count;
+      }
+      // the first mid with at least half the steps in lo..mid-1.
+      long half = stepsBefore(lo) + steps / 2;
+      int left = lo + 1;
+      int right = hi - 1;
+      while(left < right) {
+        int mid = (left + right) >>> 1;
+        if(stepsBefore(mid) < half) {
+          left = mid + 1;
+        }
+        else {
+          right = mid;
+        }
+      }
+      CountTask first = new CountTask(a, lo, left);
+      first.fork();
+      long second = new CountTask(a, left, hi).compute();
+      return first.join() + second;
+    }
+  }
+
+  /**
+   * Receives the triples found by forEachTriple().
+   */
+  public interface TripleConsumer {
+    /**
+     * Called once for each triple of indices i < j < k into the sorted
+     * array.
+     */
+    void accept(int i, int j, int k);
+  }
+
+  /**
+   * Sorts a[] and calls action.accept(i, j, k) for every triple of indices
+   * i < j < k with a[i] + a[j] + a[k] == target, in increasing order of i.
+   * a[] may contain duplicates. Takes O(N^2) time plus constant time per
+   * triple, and allocates nothing per triple.
+   * @param a the array of integers, sorted in place
+   */
+  public static void forEachTriple(int[] a, long target,
+                                   TripleConsumer action) {
+    Arrays.sort(a);
+    int N = a.length;
+    for (int i = 0; i < N - 2; i++) {
+      for (int front = i + 1, back = N - 1; front < back;) {
+        long sum = (long) a[i] + a[front] + a[back];
+        if(sum > target) {
+          --back;
+        }
+        else if(sum < target) {
+          ++front;
+        }
+        else if(a[front] == a[back]) {
+          // every pair in front..back matches.
+          for (int j = front; j < back; j++) {
+            for (int k = j + 1; k <= back; k++) {
+              action.accept(i, j, k);
+            }
           }
+          break;
+        }
+        else {
+          // every pair of the run of a[front] and the run of a[back].
+          int frontEnd = front + 1;
+          while(a[frontEnd] == a[front]) {
+            ++frontEnd;
+          }
+          int backEnd = back - 1;
+          while(a[backEnd] == a[back]) {
+            --backEnd;
+          }
+          for (int j = front; j < frontEnd; j++) {
+            for (int k = backEnd + 1; k <= back; k++) {
+              action.accept(i, j, k);
+            }
+          }
+          front = frontEnd;
+          back = backEnd;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of k-tuples of indices i1 < i2 < ... < ik such that
+   * a[i1] + a[i2] + ... + a[ik] == target. a[] may contain duplicates.
+   * Fixes the smallest index and recurses down to the two-pointer scan,
+   * skipping any index whose smallest or largest possible sum can't reach
+   * the target. Takes O(N^(k-1)) time in the worst case.
+   * @param a the array of integers, sorted in place
+   * @throws java.lang.IllegalArgumentException if k < 1
+   * @throws java.lang.ArithmeticException if the count overflows a long
+   */
+  public static long kSum(int[] a, int k, long target) {
+    if (k < 1) {
+      throw new IllegalArgumentException("k < 1");
+    }
+    Arrays.sort(a);
+    long[] prefix = new long[a.length + 1]; // prefix[i] = a[0] + ... a[i-1]
+    for (int i = 0; i < a.length; i++) {
+      prefix[i + 1] = prefix[i] + a[i];
+    }
+    return kSum(a, prefix, 0, k, target);
+  }
+
+  // the number of k-tuples from a[lo..N-1] that sum to target.
+  private static long kSum(int[] a, long[] prefix, int lo, int k,
+                           long target) {
+    int N = a.length;
+    if (N - lo < k) {
+      return 0;
+    }
+    if (k == 1) {
+      long count = 0;
+      for (int i = lo; i < N && a[i] <= target; i++) {
+        if (a[i] == target) {
+          ++count;
+        }
+      }
+      return count;
+    }
+    if (k == 2) {
+      return pairs(a, lo, target);
+    }
+    long count = 0;
+    long largest = prefix[N] - prefix[N - k + 1]; // the top k - 1 items.
+    for (int i = lo; i <= N - k; i++) {
+      if (prefix[i + k] - prefix[i] > target) {
+        break; // the smallest sum from here on is already too big.
+      }
+      if (a[i] + largest < target) {
+        continue;
+      }
+      count = Math.addExact(count,
+                            kSum(a, prefix, i + 1, k - 1, target - a[i]));
+    }
+    return count;
+  }
+
+  // the number of pairs from the sorted a[lo..N-1] that sum to target.
+  private static long pairs(int[] a, int lo, long target) {
+    long count = 0;
+    for (int front = lo, back = a.length - 1; front < back;) {
+      long sum = (long) a[front] + a[back];
+      if(sum > target) {
+        --back;
+      }
+      else if(sum < target) {
+        ++front;
+      }
+      else if(a[front] == a[back]) {
+        return count + choose2(back - front + 1);
+      }
+      else {
+        int frontEnd = front + 1;
+        while(a[frontEnd] == a[front]) {
+          ++frontEnd;
+        }
+        int backEnd = back - 1;
+        while(a[backEnd] == a[back]) {
+          --backEnd;
         }
+        count += (long) (frontEnd - front) * (back - backEnd);
+        front = frontEnd;
+        back = backEnd;
       }
     }
     return count;
   }
 
   /**
-   * Reads in a sequence of distinct integers from a file, specified as a
-   * command-line argument; counts the number of triples sum to exactly 
-   * zero; prints out the time to perform the computation.
+   * Reads in a sequence of integers (duplicates allowed) from a file,
+   * specified as a command-line argument; counts the number of triples sum
+   * to exactly zero.
    */
   public static void main(String[] args)  { 
     In in = new In(args[0]);
     int[] a = in.readAllInts();
-    int cnt = count(a);
+    long cnt = countWithDuplicates(a);
     StdOut.println(cnt);
   } 
 }
@@ -0,0 +1,69 @@
+/*************************************************************************
+ *  Compilation:  javac ThreeSumSpeedup.java
+ *  Execution:    java ThreeSumSpeedup N [N ...]
+ *  e.g. java ThreeSumSpeedup 100000 200000 500000 1000000
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Speedup curve for ThreeSumFaster.countParallel(): for each N, times
+ *  countParallel() with 1, 2, ... up to all cores, on N distinct random
+ *  integers. Speedups are relative to the one-thread run, and the other
+ *  runs' counts are checked against its count.
+ *
+ *************************************************************************/
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ *  @author Brendan Duke
+ */
+public class ThreeSumSpeedup {
+  // N distinct integers drawn from [-5N, 5N).
+  private static int[] distinct(int N, SplittableRandom random) {
+    boolean[] taken = new boolean[10 * N];
+    int[] a = new int[N];
+    for(int i = 0; i < N;) {
+      int x = random.nextInt(10 * N);
+      if(!taken[x]) {
+        taken[x] = true;
+        a[i++] = x - 5 * N;
+      }
+    }
+    return a;
+  }
+
+  public static void main(String[] args) {
+    int cores = Runtime.getRuntime().availableProcessors();
+    SplittableRandom random = new SplittableRandom(2015);
+    for(String arg : args) {
+      int N = Integer.parseInt(arg);
+      int[] a = distinct(N, random);
+
+      StdOut.printf("N = %d\n", N);
+      StdOut.printf("%8s %10s %10s\n", "threads", "time (s)", "speedup");
+      // NOTE(brendan): one thread is the baseline for both the time and
+      // the count, so the quadratic scan isn't repeated just to check.
+      long expected = 0;
+      double baseline = 0.0;
+      for(int threads = 1; threads <= cores; ++threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        int[] b = a.clone();
+        Stopwatch timer = new Stopwatch();
+        long count = ThreeSumFaster.countParallel(b, pool);
+        double time = timer.elapsedTime();
+        pool.shutdown();
+        if(threads == 1) {
+          expected = count;
+          baseline = time;
+        }
+        StdOut.printf("%8d %10.2f %10.2f%s\n", threads, time,
+                      baseline / time,
+                      (count == expected) ? "" : " MISMATCH");
+      }
+      StdOut.printf("%d triples\n", expected);
+    }
+  }
+}
@@ -0,0 +1,292 @@
+/*************************************************************************
+ *  Compilation:  javac UFIngest.java
+ *  Execution:    java UFIngest convert input.txt edges.bin [int|long]
+ *                java UFIngest run edges.bin [output.txt]
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Fast union-find driver for big edge files.
+ *  "convert" turns the text format read by WeightedBySizeUF.main (N,
+ *  then pairs p q) into a binary edge file. "run" memory-maps a binary
+ *  edge file, decodes it in large batches on one thread, and unions the
+ *  batches on another, handing them over through a bounded queue. Like
+ *  WeightedBySizeUF.main, it prints each pair that joined two
+ *  components and then the number of components, to output.txt or
+ *  standard output. Throughput goes to standard error.
+ *
+ *  Binary format, all little-endian: int width (4 or 8), int N, then
+ *  pairs of ints (width 4, sites 0..N-1) or longs (width 8, arbitrary
+ *  keys, with N only a size hint).
+ *
+ *************************************************************************/
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *  @author Brendan Duke
+ *  Int edges go to a WeightedBySizeUF with path halving; long edges go
+ *  to a DynamicUF. Batches are recycled through a second queue, so the
+ *  steady state allocates nothing.
+ */
+public class UFIngest {
+  private static final int HEADER_BYTES = 8;
+  private static final int BATCH_EDGES = 1 << 16;
+  private static final int BATCHES = 4; // batches in flight.
+  private static final long WINDOW_BYTES = 1L << 30; // bytes mapped at once.
+
+  // NOTE(brendan): a batch with n == 0 marks the end of the edges.
+  private static class Batch {
+    private final int[] ints;
+    private final long[] longs;
+    private int n = 0; // number of edges.
+
+    private Batch(int width) {
+      ints = (width == 4) ? new int[2 * BATCH_EDGES] : null;
+      longs = (width == 8) ? new long[2 * BATCH_EDGES] : null;
+    }
+  };
+
+  /**
+   * Converts the text edge format to the binary one.
+   * @param width 4 to write ints, 8 to write longs.
+   */
+  public static void convert(String input, String output, int width)
+    throws IOException {
+    try(InputStream in = new BufferedInputStream(new FileInputStream(input),
+                                                 1 << 16);
+        FileChannel out = FileChannel.open(Paths.get(output),
+                                           StandardOpenOption.CREATE,
+                                           StandardOpenOption.WRITE,
+                                           StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(width);
+      buffer.putInt((int) readLong(in));
+      for(;;) {
+        long p;
+        try {
+          p = readLong(in);
+        }
+        catch(EOFException e) {
+          break;
+        }
+        long q = readLong(in);
+        if(buffer.remaining() < 2 * width) {
+          drain(buffer, out);
+        }
+        if(width == 4) {
+          buffer.putInt((int) p);
+          buffer.putInt((int) q);
+        }
+        else {
+          buffer.putLong(p);
+          buffer.putLong(q);
+        }
+      }
+      drain(buffer, out);
+    }
+  }
+
+  // reads the next whitespace-separated decimal number.
+  private static long readLong(InputStream in) throws IOException {
+    int c = in.read();
+    while(c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+      c = in.read();
+    }
+    if(c < 0) {
+      throw new EOFException();
+    }
+    boolean negative = (c == '-');
+    if(negative) {
+      c = in.read();
+    }
+    long x = 0;
+    int digits = 0;
+    for(; c >= '0' && c <= '9'; c = in.read(), ++digits) {
+      x = 10 * x + (c - '0');
+    }
+    if(digits == 0 || (c >= 0 && c != ' ' && c != '\n' && c != '\r'
+                       && c != '\t')) {
+      throw new StreamCorruptedException("not a number");
+    }
+    return negative ? -x : x;
+  }
+
+  private static void drain(ByteBuffer buffer, WritableByteChannel out)
+    throws IOException {
+    buffer.flip();
+    while(buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  // decodes the mapped edge file into batches until it runs out.
+  private static void decode(FileChannel file, int width,
+                             BoundedMPMCQueue<Batch> empty,
+                             BoundedMPMCQueue<Batch> full)
+    throws IOException, InterruptedException {
+    long edgeBytes = 2L * width;
+    long end = HEADER_BYTES
+      + (file.size() - HEADER_BYTES) / edgeBytes * edgeBytes;
+    long windowBytes = WINDOW_BYTES / edgeBytes * edgeBytes;
+    for(long start = HEADER_BYTES; start < end; start += windowBytes) {
+      long size = Math.min(windowBytes, end - start);
+      MappedByteBuffer window = file.map(FileChannel.MapMode.READ_ONLY,
+                                         start, size);
+      window.order(ByteOrder.LITTLE_ENDIAN);
+      if(width == 4) {
+        IntBuffer ints = window.asIntBuffer();
+        while(ints.hasRemaining()) {
+          Batch batch = empty.take();
+          int n = Math.min(batch.ints.length, ints.remaining());
+          ints.get(batch.ints, 0, n);
+          batch.n = n / 2;
+          full.put(batch);
+        }
+      }
+      else {
+        LongBuffer longs = window.asLongBuffer();
+        while(longs.hasRemaining()) {
+          Batch batch = empty.take();
+          int n = Math.min(batch.longs.length, longs.remaining());
+          longs.get(batch.longs, 0, n);
+          batch.n = n / 2;
+          full.put(batch);
+        }
+      }
+    }
+    Batch last = empty.take();
+    last.n = 0;
+    full.put(last);
+  }
+
+  /**
+   * Unions every edge in the binary edge file, writing the pairs that
+   * joined two components and then the component count to out.
+   * @return the number of edges read.
+   */
+  public static long run(String edges, WritableByteChannel out)
+    throws IOException, InterruptedException {
+    final FileChannel file = FileChannel.open(Paths.get(edges),
+                                              StandardOpenOption.READ);
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+      header.order(ByteOrder.LITTLE_ENDIAN);
+      while(header.hasRemaining()) {
+        if(file.read(header) < 0) {
+          throw new EOFException("no header");
+        }
+      }
+      header.flip();
+      final int width = header.getInt();
+      int N = header.getInt();
+      if((width != 4 && width != 8) || N < 0) {
+        throw new StreamCorruptedException("bad header");
+      }
+
+      final BoundedMPMCQueue<Batch> empty =
+        new BoundedMPMCQueue<Batch>(BATCHES);
+      final BoundedMPMCQueue<Batch> full =
+        new BoundedMPMCQueue<Batch>(BATCHES);
+      for(int i = 0; i < BATCHES; ++i) {
+        empty.put(new Batch(width));
+      }
+      final Exception[] failure = new Exception[1];
+      Thread decoder = new Thread(new Runnable() {
+        public void run() {
+          try {
+            decode(file, width, empty, full);
+          }
+          catch(Exception e) {
+            failure[0] = e;
+            Batch last = new Batch(width);
+            while(!full.offer(last)) {
+              full.poll(); // make room so the union side can stop.
+            }
+          }
+        }
+      });
+      decoder.setDaemon(true); // don't outlive a failed union side.
+      decoder.start();
+
+      WeightedBySizeUF ints = (width == 4)
+        ? new WeightedBySizeUF(N, WeightedBySizeUF.Find.HALVING) : null;
+      DynamicUF longs = (width == 8) ? new DynamicUF(N) : null;
+      ChannelWriter writer = new ChannelWriter(out);
+      long edgesRead = 0;
+      for(Batch batch = full.take(); batch.n > 0; batch = full.take()) {
+        for(int i = 0; i < 2 * batch.n; i += 2) {
+          if(width == 4) {
+            int p = batch.ints[i];
+            int q = batch.ints[i + 1];
+            if(ints.connected(p, q)) {
+              continue;
+            }
+            ints.union(p, q);
+            writer.append(p).append(' ').append(q).append('\n');
+          }
+          else {
+            long p = batch.longs[i];
+            long q = batch.longs[i + 1];
+            if(longs.connected(p, q)) {
+              continue;
+            }
+            longs.union(p, q);
+            writer.append(p).append(' ').append(q).append('\n');
+          }
+        }
+        edgesRead += batch.n;
+        empty.put(batch);
+      }
+      decoder.join();
+      if(failure[0] != null) {
+        throw new IOException("decoding failed", failure[0]);
+      }
+      int count = (width == 4) ? ints.count() : longs.count();
+      writer.append(count).append(" components\n");
+      writer.flush();
+      return edgesRead;
+    }
+    finally {
+      file.close();
+    }
+  }
+
+  public static void main(String[] args)
+    throws IOException, InterruptedException {
+    if(args[0].equals("convert")) {
+      int width = (args.length > 3 && args[3].equals("long")) ? 8 : 4;
+      convert(args[1], args[2], width);
+      return;
+    }
+    WritableByteChannel out = (args.length > 2)
+      ? FileChannel.open(Paths.get(args[2]), StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE,
+                         StandardOpenOption.TRUNCATE_EXISTING)
+      : Channels.newChannel(System.out);
+    Stopwatch timer = new Stopwatch();
+    long edges = run(args[1], out);
+    double time = timer.elapsedTime();
+    out.close();
+    System.err.printf("%d edges in %.2f s, %.0f edges/s\n",
+                      edges, time, edges / time);
+  }
+}
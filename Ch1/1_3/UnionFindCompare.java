@@ -0,0 +1,45 @@
+/*************************************************************************
+ *  Compilation:  javac UnionFindCompare.java
+ *  Execution:    java UnionFindCompare numberOfSites numberOfUnions
+ *  e.g. java UnionFindCompare 10000000 100000000
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Runs the same M random unions on N sites with each of the
+ *  WeightedBySizeUF find strategies, and prints unions per second and
+ *  bytes per site for each.
+ *
+ *************************************************************************/
+
+import java.util.SplittableRandom;
+
+/**
+ *  @author Brendan Duke
+ */
+public class UnionFindCompare {
+  // NOTE(brendan): the pairs come from a seeded generator rather than an
+  // array, since 10^8 pairs would need 800MB.
+  public static double time(WeightedBySizeUF.Find strategy, int N, long M) {
+    SplittableRandom random = new SplittableRandom(2015);
+    Stopwatch timer = new Stopwatch();
+    WeightedBySizeUF uf = new WeightedBySizeUF(N, strategy);
+    for(long i = 0; i < M; ++i) {
+      uf.union(random.nextInt(N), random.nextInt(N));
+    }
+    double time = timer.elapsedTime();
+    StdOut.printf("%-12s %8.2f s %14.0f unions/s %4.1f bytes/site"
+                  + " %10d components\n", strategy, time, M / time,
+                  (double) uf.memoryBytes() / N, uf.count());
+    return time;
+  }
+
+  public static void main(String[] args) {
+    int N = Integer.parseInt(args[0]);
+    long M = Long.parseLong(args[1]);
+    for(WeightedBySizeUF.Find strategy : WeightedBySizeUF.Find.values()) {
+      time(strategy, N, M);
+    }
+  }
+}
@@ -0,0 +1,268 @@
+/*************************************************************************
+ *  Compilation: javac WeightedBySizeUF.java
+ *  Execution: java WeightedBySizeUF < input.txt
+ *  Updated: Oct. 18/26
+ *  
+ *  Weighted quick-union (by size, with optional path compression).
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *************************************************************************/
+
+import java.util.NoSuchElementException;
+
+/**
+ *  The <tt>WeightedBySizeUF</tt> class represents a union-find data 
+ *  structure.
+ *
+ *  It supports the <em>union</em> and <em>find</em> operations, along with
+ *  methods for determinig whether two objects are in the same component
+ *  and the total number of components.
+ *  <p>
+ *  This implementation uses weighted quick union by size, which keeps
+ *  trees logarithmically tall, and one of the path compression strategies
+ *  in {@link Find} (none by default).
+ *  Initializing a data structure with <em>N</em> objects takes linear time.
+ *  Afterwards, <em>union</em>, <em>find</em>, and <em>connected</em> take
+ *  logarithmic time (in the worst case) and <em>count</em> takes constant
+ *  time. With any compression strategy the amortized time per operation
+ *  is nearly constant (inverse Ackermann).
+ *  <p>
+ *  Sites are packed into a single int array: a non-root holds its parent,
+ *  and a root holds -(size of its component), which compression never
+ *  changes. One more int array keeps a circular linked list through each
+ *  component's members (next[]), which union splices together by swapping
+ *  two entries. So <em>componentSize</em> takes the time of a
+ *  <em>find</em>, <em>largestComponentSize</em> takes constant time, and
+ *  <em>members</em> takes time proportional to the size of the component.
+ *  That is 8 bytes per site.
+ *  <p>
+ *  @author Brendan Duke
+ */
+public class WeightedBySizeUF {
+  /**
+   * How find() shortens the path it walks.
+   */
+  public enum Find {
+    NONE,        // leave the path alone.
+    COMPRESSION, // point every site on the path at the root (two passes).
+    HALVING,     // point every other site on the path at its grandparent.
+    SPLITTING    // point every site on the path at its grandparent.
+  }
+
+  // id[i] = parent of i, or -(size of i's component) if i is a root
+  private int[] id;
+  private int[] next; // next[i] = next site in i's component, circularly
+  private int count; // number of componenets
+  private int largest; // root of the largest component
+  private final Find strategy;
+
+  /**
+   * Initializes an empty union-find data structure with N isolated
+   * components 0 through N-1, without path compression.
+   * @throws java.lang.IllegalArgumentException if N < 0
+   * @param N the number of objects
+   */
+  public WeightedBySizeUF(int N) {
+    this(N, Find.NONE);
+  }
+
+  /**
+   * Initializes an empty union-find data structure with N isolated
+   * components 0 through N-1.
+   * @throws java.lang.IllegalArgumentException if N < 0
+   * @param N the number of objects
+   * @param strategy how find() compresses paths
+   */
+  public WeightedBySizeUF(int N, Find strategy) {
+    if(N < 0) {
+      throw new IllegalArgumentException("N < 0");
+    }
+    count = N;
+    id = new int[N];
+    next = new int[N];
+    for(int i = 0; i < N; ++i) {
+      id[i] = -1;
+      next[i] = i;
+    }
+    largest = 0;
+    this.strategy = strategy;
+  }
+
+  /**
+   * Returns the number of components.
+   * @return the number of components (between 1 and N)
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Returns the number of sites in the component containing site
+   * <tt>p</tt>.
+   * @throws java.lang.IndexOutOfBoundsException unless 0 <= p < N
+   */
+  public int componentSize(int p) {
+    return -id[find(p)];
+  }
+
+  /**
+   * Returns the number of sites in the largest component.
+   * @return the size of the largest component (0 if N is 0)
+   */
+  public int largestComponentSize() {
+    return (id.length == 0) ? 0 : -id[largest];
+  }
+
+  /**
+   * Returns the root of the largest component.
+   * @throws java.util.NoSuchElementException if N is 0
+   */
+  public int largestComponentSite() {
+    if(id.length == 0) {
+      throw new NoSuchElementException("no sites");
+    }
+    return largest;
+  }
+
+  /**
+   * Returns the sites in the component containing site <tt>p</tt>,
+   * starting with <tt>p</tt>.
+   * @throws java.lang.IndexOutOfBoundsException unless 0 <= p < N
+   */
+  public int[] members(int p) {
+    int[] result = new int[componentSize(p)];
+    int q = p;
+    for(int i = 0; i < result.length; ++i, q = next[q]) {
+      result[i] = q;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of bytes used by the site arrays.
+   */
+  public long memoryBytes() {
+    return 8L * id.length;
+  }
+
+  /**
+   * Returns the component identifier for the component containing site
+   * <tt>p</tt>.  @param p the integer representing one site
+   * @return the component identifier for the component containing site
+   * <tt>p</tt> @throws java.lang.IndexOutOfBoundsException unless 0 <= p < N
+   */
+  public int find(int p) {
+    switch(strategy) {
+      case COMPRESSION: {
+        int root = p;
+        while(id[root] >= 0) {
+          root = id[root];
+        }
+        while(p != root) {
+          int next = id[p];
+          id[p] = root;
+          p = next;
+        }
+        return root;
+      }
+      case HALVING:
+        while(id[p] >= 0) {
+          int parent = id[p];
+          if(id[parent] < 0) {
+            return parent;
+          }
+          id[p] = id[parent];
+          p = id[p];
+        }
+        return p;
+      case SPLITTING:
+        while(id[p] >= 0) {
+          int parent = id[p];
+          if(id[parent] >= 0) {
+            id[p] = id[parent];
+          }
+          p = parent;
+        }
+        return p;
+      default:
+        while(id[p] >= 0) {
+          p = id[p];
+        }
+        return p;
+    }
+  }
+
+  /**
+   * Are the two sites <tt>p</tt> and <tt>q</tt> in the same component?
+   * @param p the integer representing one site
+   * @param q the integer representing the other site
+   * @return <tt>true</tt> if the two sites <tt>p</tt> and <tt>q</tt>
+   *    are in the same component, and <tt>false</tt> otherwise
+   * @throws java.lang.IndexOutOfBoundsException unless both 0 <= p < N and 
+   * 0 <= q < N
+   */
+  public boolean connected(int p, int q) {
+    return find(p) == find(q);
+  }
+
+
+  /**
+   * Merges the component containing site<tt>p</tt> with the component
+   * containing site <tt>q</tt>.
+   * @param p the integer representing one site
+   * @param q the integer representing the other site
+   * @throws java.lang.IndexOutOfBoundsException unless both 0 <= p < N and 
+   * 0 <= q < N
+   */
+  public void union(int p, int q) {
+    int rootP = find(p);
+    int rootQ = find(q);
+    if (rootP == rootQ) {
+      return;
+    }
+
+    // make smaller root point to larger one. Roots hold -size, so the
+    // larger root holds the smaller value.
+    int root = rootP;
+    int child = rootQ;
+    if(id[rootP] > id[rootQ]) {
+      root = rootQ;
+      child = rootP;
+    }
+    id[root] += id[child];
+    id[child] = root;
+    // NOTE(brendan): if largest was just linked below root, root's
+    // component is bigger still, so largest is always a root.
+    if(id[root] < id[largest]) {
+      largest = root;
+    }
+    // Splice the two member rings into one.
+    int temp = next[rootP];
+    next[rootP] = next[rootQ];
+    next[rootQ] = temp;
+    count--;
+  }
+
+  /**
+   * Reads in a sequence of pairs of integers (between 0 and N-1) from
+   * standard input, where each integer represents some object;
+   * if the objects are in different components, merge the two components
+   * and print the pair to standard output.
+   */
+  public static void main(String[] args) {
+    int N = StdIn.readInt();
+    WeightedBySizeUF uf = new WeightedBySizeUF(N);
+    while (!StdIn.isEmpty()) {
+      int p = StdIn.readInt();
+      int q = StdIn.readInt();
+      if (uf.connected(p, q)) {
+        continue;
+      }
+      uf.union(p, q);
+      StdOut.println(p + " " + q);
+    }
+    StdOut.println(uf.count() + " components");
+  }
+}
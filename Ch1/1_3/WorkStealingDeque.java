@@ -0,0 +1,215 @@
+/*************************************************************************
+ *  Compilation:  javac WorkStealingDeque.java
+ *  Execution:    java WorkStealingDeque numberOfItems numberOfThieves
+ *  e.g. java WorkStealingDeque 1000000 3
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  A concurrent deque in the style of Chase and Lev, "Dynamic Circular
+ *  Work-Stealing Deque" (SPAA 2005).
+ *  One owner thread pushes and pops at the right end without locking;
+ *  any number of thief threads steal from the left end using CAS.
+ *
+ *************************************************************************/
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ *  @author Brendan Duke
+ *  Only the owner thread may call pushRight() and popRight(). popLeft()
+ *  may be called from any thread.
+ *  Items live in a circular array indexed by ever-increasing longs
+ *  top (left end) and bottom (one past the right end). The array doubles
+ *  when full and never shrinks, since a thief may still be reading from
+ *  the old one.
+ */
+public class WorkStealingDeque<Item> {
+  private static final int MIN_CAPACITY = 16;
+
+  private volatile long bottom = 0; // written only by the owner.
+  private final AtomicLong top = new AtomicLong(0);
+  private volatile CircularArray<Item> array;
+
+  private static class CircularArray<T> {
+    private final AtomicReferenceArray<T> a;
+    private final int mask;
+
+    private CircularArray(int capacity) {
+      assert Integer.bitCount(capacity) == 1;
+      a = new AtomicReferenceArray<T>(capacity);
+      mask = capacity - 1;
+    }
+
+    private int capacity() {
+      return mask + 1;
+    }
+
+    private T get(long i) {
+      return a.get((int) i & mask);
+    }
+
+    private void put(long i, T item) {
+      a.set((int) i & mask, item);
+    }
+
+    // copy items top..bottom-1 into an array twice as big.
+    private CircularArray<T> grow(long b, long t) {
+      CircularArray<T> result = new CircularArray<T>(2 * capacity());
+      for(long i = t; i < b; ++i) {
+        result.put(i, get(i));
+      }
+      return result;
+    }
+  };
+
+  /**
+   * Initializes an empty deque.
+   */
+  public WorkStealingDeque() {
+    array = new CircularArray<Item>(MIN_CAPACITY);
+  }
+
+  /**
+   * Is the deque empty? Only a snapshot if other threads are active.
+   * @return true if the deque is empty; false otherwise.
+   */
+  public boolean
+  isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Number of items in the deque. Only a snapshot if other threads are
+   * active.
+   * @return number of items in the deque.
+   */
+  public int
+  size() {
+    long n = bottom - top.get();
+    return (n < 0) ? 0 : (int) n;
+  }
+
+  /**
+   * Add an item to the right end. Owner thread only.
+   * @throws java.lang.NullPointerException if item is null
+   */
+  public void
+  pushRight(Item item) {
+    if(item == null) {
+      throw new NullPointerException("null item");
+    }
+    long b = bottom;
+    long t = top.get();
+    CircularArray<Item> a = array;
+    if(b - t >= a.capacity()) {
+      a = a.grow(b, t);
+      array = a;
+    }
+    a.put(b, item);
+    bottom = b + 1;
+  }
+
+  /**
+   * Remove an item from the right end. Owner thread only.
+   * @return the item removed from the right end of the deque, or null if
+   * the deque is empty.
+   */
+  public Item
+  popRight() {
+    long b = bottom - 1;
+    CircularArray<Item> a = array;
+    // NOTE(brendan): the volatile write of bottom must happen before the
+    // read of top, so a thief racing for the last item sees it gone.
+    bottom = b;
+    long t = top.get();
+    if(b < t) {
+      bottom = t;
+      return null;
+    }
+    Item item = a.get(b);
+    if(b > t) {
+      return item;
+    }
+    // Last item: race the thieves for it.
+    if(!top.compareAndSet(t, t + 1)) {
+      item = null;
+    }
+    bottom = t + 1;
+    return item;
+  }
+
+  /**
+   * Remove an item from the left end (steal). Any thread.
+   * @return the item removed from the left end of the deque, or null if
+   * the deque is empty or another thread won the race for the item.
+   */
+  public Item
+  popLeft() {
+    long t = top.get();
+    long b = bottom;
+    if(t >= b) {
+      return null;
+    }
+    CircularArray<Item> a = array;
+    Item item = a.get(t);
+    if(!top.compareAndSet(t, t + 1)) {
+      return null;
+    }
+    return item;
+  }
+
+  // NOTE(brendan): testing. The owner pushes 0..N-1 and pops some back
+  // while thieves steal; every item must come out exactly once.
+  public static void main(String[] args) throws InterruptedException {
+    final int N = Integer.parseInt(args[0]);
+    int thieves = Integer.parseInt(args[1]);
+    final WorkStealingDeque<Integer> deque = new WorkStealingDeque<Integer>();
+    final AtomicIntegerArray seen = new AtomicIntegerArray(N);
+    final AtomicLong taken = new AtomicLong(0);
+
+    Thread[] threads = new Thread[thieves];
+    for(int i = 0; i < thieves; ++i) {
+      threads[i] = new Thread(new Runnable() {
+        public void run() {
+          while(taken.get() < N) {
+            Integer item = deque.popLeft();
+            if(item != null) {
+              seen.incrementAndGet(item);
+              taken.incrementAndGet();
+            }
+          }
+        }
+      });
+      threads[i].start();
+    }
+    for(int i = 0; i < N; ++i) {
+      deque.pushRight(i);
+      if(i % 3 == 0) {
+        Integer item = deque.popRight();
+        if(item != null) {
+          seen.incrementAndGet(item);
+          taken.incrementAndGet();
+        }
+      }
+    }
+    Integer item;
+    while((item = deque.popRight()) != null) {
+      seen.incrementAndGet(item);
+      taken.incrementAndGet();
+    }
+    for(Thread thread : threads) {
+      thread.join();
+    }
+    int bad = 0;
+    for(int i = 0; i < N; ++i) {
+      if(seen.get(i) != 1) {
+        ++bad;
+      }
+    }
+    StdOut.println(taken.get() + " items taken, " + bad + " lost or duplicated");
+  }
+}
@@ -0,0 +1,143 @@
+/*************************************************************************
+ *  Compilation:  javac WorkStealingScheduler.java
+ *  Execution:    java WorkStealingScheduler N maxThreads
+ *  e.g. java WorkStealingScheduler 100000000 8
+ *  Updated:      Oct. 18, 2026
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  A small fork-join style scheduler on top of WorkStealingDeque.
+ *  Each worker owns a deque: it splits a range task in two, pushes one
+ *  half to the right end of its own deque and keeps working on the other.
+ *  Idle workers steal from the left end of a random victim's deque.
+ *  main() sums f(i) over 0..N-1 with 1, 2, ..., maxThreads workers and
+ *  prints the time and speedup over one worker for each.
+ *
+ *************************************************************************/
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  @author Brendan Duke
+ */
+public class WorkStealingScheduler {
+  private static final long CUTOFF = 1 << 14; // ranges this small run serially.
+
+  private final WorkStealingDeque<long[]>[] deques;
+  private final long[] partialSums;
+  private final AtomicLong pending = new AtomicLong(0); // unfinished tasks.
+
+  private WorkStealingScheduler(int workers) {
+    deques = newDeques(workers);
+    for(int i = 0; i < workers; ++i) {
+      deques[i] = new WorkStealingDeque<long[]>();
+    }
+    partialSums = new long[workers];
+  }
+
+  // an array of n empty slots for deques of T.
+  @SuppressWarnings("unchecked")
+  private static <T> WorkStealingDeque<T>[] newDeques(int n) {
+    return (WorkStealingDeque<T>[]) new WorkStealingDeque<?>[n];
+  }
+
+  // some cheap but not free work per element.
+  private static long f(long i) {
+    long x = i * 0x9E3779B97F4A7C15L;
+    x ^= x >>> 29;
+    return x & 0xFF;
+  }
+
+  // run the task range [lo, hi), forking off right halves as we go.
+  private long run(int worker, long lo, long hi) {
+    WorkStealingDeque<long[]> mine = deques[worker];
+    while(hi - lo > CUTOFF) {
+      long mid = lo + (hi - lo) / 2;
+      pending.incrementAndGet();
+      mine.pushRight(new long[] { mid, hi });
+      hi = mid;
+    }
+    long sum = 0;
+    for(long i = lo; i < hi; ++i) {
+      sum += f(i);
+    }
+    return sum;
+  }
+
+  private void work(int worker) {
+    WorkStealingDeque<long[]> mine = deques[worker];
+    Random random = new Random(worker);
+    long sum = 0;
+    while(pending.get() > 0) {
+      long[] task = mine.popRight();
+      if(task == null) {
+        int victim = random.nextInt(deques.length);
+        if(victim == worker) {
+          continue;
+        }
+        task = deques[victim].popLeft();
+        if(task == null) {
+          Thread.yield();
+          continue;
+        }
+      }
+      sum += run(worker, task[0], task[1]);
+      pending.decrementAndGet();
+    }
+    partialSums[worker] = sum;
+  }
+
+  /**
+   * Sums f(i) over 0 <= i < N using the given number of worker threads.
+   * @return the sum.
+   */
+  public static long sum(final long N, int workers)
+    throws InterruptedException {
+    final WorkStealingScheduler s = new WorkStealingScheduler(workers);
+    s.pending.set(1);
+    s.deques[0].pushRight(new long[] { 0, N });
+
+    Thread[] threads = new Thread[workers];
+    for(int i = 0; i < workers; ++i) {
+      final int worker = i;
+      threads[i] = new Thread(new Runnable() {
+        public void run() {
+          s.work(worker);
+        }
+      });
+      threads[i].start();
+    }
+    long total = 0;
+    for(int i = 0; i < workers; ++i) {
+      threads[i].join();
+      total += s.partialSums[i];
+    }
+    return total;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) throws InterruptedException {
+    long N = Long.parseLong(args[0]);
+    int maxThreads = Integer.parseInt(args[1]);
+
+    long expected = 0;
+    for(long i = 0; i < N; ++i) {
+      expected += f(i);
+    }
+    sum(N, maxThreads); // warm up the JIT.
+
+    double t1 = 0.0;
+    for(int p = 1; p <= maxThreads; ++p) {
+      Stopwatch timer = new Stopwatch();
+      long result = sum(N, p);
+      double t = timer.elapsedTime();
+      if(p == 1) {
+        t1 = t;
+      }
+      StdOut.printf("%2d threads: %.3f s, speedup %.2f%s\n", p, t, t1/t,
+                    (result == expected) ? "" : " (WRONG SUM)");
+    }
+  }
+}
@@ -1,21 +1,292 @@
 /*************************************************************************
  *  Compilation:  javac Example.java
- *  Execution:    java < input.txt
- *  Updated:      Jan. 22/15
+ *  Execution:    java Example < input.txt
+ *                java Example -external input.txt output.txt [memoryMB [fanIn]]
+ *  Updated:      Oct. 18/26
  *  
  *  May require I/O library files from Sedgewicks "Algorithms".
  *  http://algs4.cs.princeton.edu/code/
  *
+ *  A general-purpose sort: pattern-defeating quicksort, i.e. introsort
+ *  (quicksort that falls back to heapsort) with insertion sort for small
+ *  partitions and cheap detection of input that is already in order.
+ *  With -external, sorts a file too big for memory with ExternalSort.
  *
  *************************************************************************/
 
+import java.util.Arrays;
+import java.util.Comparator;
+
 /**
  *  @author Brendan Duke
+ *  Pivots are the median of three. A partition that moved nothing hints
+ *  that the input is already sorted, so both sides then get an insertion
+ *  sort that gives up after a few moves; sorted input takes linear time.
+ *  A pivot equal to the pivot before it means a run of equal keys, which
+ *  is split off in one linear pass. Each badly unbalanced partition
+ *  swaps a few items to break up the pattern that caused it, and after
+ *  log N of them the rest is heapsorted, so the worst case is O(N log N).
+ *  Input that starts with a sorted run of at least half its length (e.g.
+ *  sorted data with a few items appended) has the rest sorted separately
+ *  and merged in, using extra space for the rest only. Not stable.
  */
 public class Example {
+  private static final int INSERTION_CUTOFF = 24; // insertion sort below.
+  private static final int PARTIAL_MOVES = 8; // moves before giving up.
+
+  /**
+   * Rearranges the array in ascending order, using the natural order.
+   */
   public static <T extends Comparable<T>>
   void sort(T[] a) {
-    /* See different algorithms in Chapter 2 of Sedgewick */
+    sort(a, Comparator.<T>naturalOrder());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the comparator.
+   */
+  public static <T>
+  void sort(T[] a, Comparator<? super T> c) {
+    int N = a.length;
+    if(N < 2) {
+      return;
+    }
+    // already in order, or in strictly reverse order?
+    int i = 1;
+    while(i < N && !less(c, a[i], a[i-1])) {
+      ++i;
+    }
+    if(i == N) {
+      return;
+    }
+    if(i == 1) {
+      int j = 1;
+      while(j < N && less(c, a[j], a[j-1])) {
+        ++j;
+      }
+      if(j == N) {
+        for(int lo = 0, hi = N - 1; lo < hi; ++lo, --hi) {
+          exch(a, lo, hi);
+        }
+        return;
+      }
+    }
+    if(i >= N/2) {
+      // a long sorted run, then the rest: sort the rest and merge it in.
+      T[] rest = Arrays.copyOfRange(a, i, N);
+      sort(rest, c);
+      int p = i - 1;
+      int q = rest.length - 1;
+      for(int k = N - 1; q >= 0; --k) {
+        if(p >= 0 && less(c, rest[q], a[p])) {
+          a[k] = a[p--];
+        }
+        else {
+          a[k] = rest[q--];
+        }
+      }
+      return;
+    }
+    int badAllowed = 32 - Integer.numberOfLeadingZeros(N); // about log2(N)
+    pdqsort(a, c, 0, N - 1, badAllowed, true);
+  }
+
+  // sorts a[lo..hi]. Unless leftmost, a[lo-1] is <= every item in a[lo..hi].
+  private static <T>
+  void pdqsort(T[] a, Comparator<? super T> c, int lo, int hi,
+               int badAllowed, boolean leftmost) {
+    for(;;) {
+      int size = hi - lo + 1;
+      if(size <= INSERTION_CUTOFF) {
+        insertion(a, c, lo, hi);
+        return;
+      }
+      medianOfThree(a, c, lo, hi);
+
+      // a[lo-1] >= pivot means the pivot is the smallest key here, so put
+      // all its copies left; they're done.
+      if(!leftmost && !less(c, a[lo-1], a[lo])) {
+        lo = partitionLeft(a, c, lo, hi) + 1;
+        continue;
+      }
+
+      long partition = partitionRight(a, c, lo, hi);
+      int p = (int) (partition >>> 1);
+      boolean moved = (partition & 1) == 0;
+      int left = p - lo;
+      int right = hi - p;
+      if(left < size/8 || right < size/8) {
+        if(--badAllowed == 0) {
+          heapsort(a, c, lo, hi);
+          return;
+        }
+        breakPatterns(a, lo, p - 1);
+        breakPatterns(a, p + 1, hi);
+      }
+      else if(!moved && partialInsertion(a, c, lo, p - 1)
+              && partialInsertion(a, c, p + 1, hi)) {
+        return;
+      }
+
+      // recurse on the smaller side, so the stack stays O(log N).
+      if(left < right) {
+        pdqsort(a, c, lo, p - 1, badAllowed, leftmost);
+        lo = p + 1;
+        leftmost = false;
+      }
+      else {
+        pdqsort(a, c, p + 1, hi, badAllowed, false);
+        hi = p - 1;
+      }
+    }
+  }
+
+  // moves the median of a[lo], a[mid], a[hi] to a[lo], leaving an item
+  // <= it at a[mid] and an item >= it at a[hi].
+  private static <T>
+  void medianOfThree(T[] a, Comparator<? super T> c, int lo, int hi) {
+    int mid = lo + (hi - lo)/2;
+    if(less(c, a[mid], a[lo])) {
+      exch(a, mid, lo);
+    }
+    if(less(c, a[hi], a[mid])) {
+      exch(a, hi, mid);
+      if(less(c, a[mid], a[lo])) {
+        exch(a, mid, lo);
+      }
+    }
+    exch(a, lo, mid);
+  }
+
+  // partitions a[lo..hi] around v = a[lo] into a[lo..p-1] < v = a[p] <=
+  // a[p+1..hi]. Needs an item >= v at a[hi]. Returns 2p, or 2p + 1 if no
+  // items had to be exchanged.
+  private static <T>
+  long partitionRight(T[] a, Comparator<? super T> c, int lo, int hi) {
+    T v = a[lo];
+    int i = lo;
+    int j = hi + 1;
+    while(less(c, a[++i], v)) { }
+    if(i - 1 == lo) {
+      while(i < j && !less(c, a[--j], v)) { }
+    }
+    else {
+      while(!less(c, a[--j], v)) { } // stops at a[i-1] < v.
+    }
+    boolean moved = i < j;
+    while(i < j) {
+      exch(a, i, j);
+      while(less(c, a[++i], v)) { }
+      while(!less(c, a[--j], v)) { }
+    }
+    int p = i - 1;
+    exch(a, lo, p);
+    return ((long) p << 1) | (moved ? 0 : 1);
+  }
+
+  // partitions a[lo..hi] around v = a[lo], given that no item is < v, into
+  // a[lo..p] == v < a[p+1..hi]. Returns p.
+  private static <T>
+  int partitionLeft(T[] a, Comparator<? super T> c, int lo, int hi) {
+    T v = a[lo];
+    int i = lo;
+    int j = hi + 1;
+    while(less(c, v, a[--j])) { }
+    if(j == hi) {
+      while(i < j && !less(c, v, a[++i])) { }
+    }
+    else {
+      while(!less(c, v, a[++i])) { } // stops at a[j+1] > v.
+    }
+    while(i < j) {
+      exch(a, i, j);
+      while(less(c, v, a[--j])) { }
+      while(!less(c, v, a[++i])) { }
+    }
+    exch(a, lo, j);
+    return j;
+  }
+
+  // swaps a few items so the next pivots differ from this one's pattern.
+  private static <T>
+  void breakPatterns(T[] a, int lo, int hi) {
+    int size = hi - lo + 1;
+    if(size > INSERTION_CUTOFF) {
+      exch(a, lo, lo + size/4);
+      exch(a, hi, hi - size/4);
+      int mid = lo + size/2;
+      exch(a, mid - 1, lo + size/4 + 1);
+      exch(a, mid + 1, hi - size/4 - 1);
+    }
+  }
+
+  private static <T>
+  void insertion(T[] a, Comparator<? super T> c, int lo, int hi) {
+    for(int i = lo + 1; i <= hi; ++i) {
+      T v = a[i];
+      int j = i;
+      for(; j > lo && less(c, v, a[j-1]); --j) {
+        a[j] = a[j-1];
+      }
+      a[j] = v;
+    }
+  }
+
+  // insertion sorts a[lo..hi] unless that takes more than PARTIAL_MOVES
+  // moves, in which case it stops early. Returns true if a[lo..hi] is
+  // sorted.
+  private static <T>
+  boolean partialInsertion(T[] a, Comparator<? super T> c, int lo, int hi) {
+    int moves = 0;
+    for(int i = lo + 1; i <= hi; ++i) {
+      T v = a[i];
+      int j = i;
+      for(; j > lo && less(c, v, a[j-1]); --j) {
+        a[j] = a[j-1];
+      }
+      a[j] = v;
+      moves += i - j;
+      if(moves > PARTIAL_MOVES) {
+        return i == hi;
+      }
+    }
+    return true;
+  }
+
+  // heapsorts a[lo..hi].
+  private static <T>
+  void heapsort(T[] a, Comparator<? super T> c, int lo, int hi) {
+    int N = hi - lo + 1;
+    for(int k = N/2; k >= 1; --k) {
+      sink(a, c, lo, k, N);
+    }
+    while(N > 1) {
+      exch(a, lo, lo + N - 1);
+      sink(a, c, lo, 1, --N);
+    }
+  }
+
+  // sinks 1-based position k in the heap a[lo..lo+N-1].
+  private static <T>
+  void sink(T[] a, Comparator<? super T> c, int lo, int k, int N) {
+    T v = a[lo + k - 1];
+    while(2*k <= N) {
+      int j = 2*k;
+      if(j < N && less(c, a[lo + j - 1], a[lo + j])) {
+        ++j;
+      }
+      if(!less(c, v, a[lo + j - 1])) {
+        break;
+      }
+      a[lo + k - 1] = a[lo + j - 1];
+      k = j;
+    }
+    a[lo + k - 1] = v;
+  }
+
+  private static <T>
+  boolean less(Comparator<? super T> c, T v, T w) {
+    return c.compare(v, w) < 0;
   }
 
   // TODO(brendan): Fix this generic problem?
@@ -24,7 +295,7 @@ public class Example {
     return v.compareTo(w) < 0;
   }
 
-  private static <T extends Comparable<T>>
+  private static <T>
   void exch(T[] a, int i, int j) {
     T t = a[i];
     a[i] = a[j];
@@ -53,7 +324,11 @@ public class Example {
 
   // NOTE(brendan): testing
   public static 
-  void main(String[] args) {
+  void main(String[] args) throws java.io.IOException {
+    if(args.length > 0 && args[0].equals("-external")) {
+      ExternalSort.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
     // Read strings from standard input, sort them, and print.
     String[] a = In.readStrings();
     sort(a);
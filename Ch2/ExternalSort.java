@@ -0,0 +1,340 @@
+/*************************************************************************
+ *  Compilation:  javac ExternalSort.java
+ *  Execution:    java ExternalSort input.txt output.txt [memoryMB [fanIn]]
+ *  e.g. java -Xmx256m ExternalSort keys.txt sorted.txt 64 32
+ *  Updated:      Oct. 18/26
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Sorts the whitespace-separated strings of a file that doesn't fit in
+ *  memory, writing them to the output file one per line.
+ *  Reads the input in chunks that fit the memory budget, sorts each chunk
+ *  with Example.sort() and writes it to a temporary run file, then merges
+ *  the runs, at most fanIn at a time, with a priority queue. Every file is
+ *  read and written sequentially through large buffers.
+ *  Run files hold each string as an int byte count followed by its UTF-8
+ *  bytes. The default budget is a third of the maximum heap; the default
+ *  fan-in is 64.
+ *
+ *************************************************************************/
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ *  @author Brendan Duke
+ *  Chunk sizes are estimated from the strings' lengths, so the budget is
+ *  approximate. During a merge the budget is split between the buffers of
+ *  the runs being merged and the output buffer, so memory use doesn't
+ *  grow with the input: only the number of merge passes does, as
+ *  log_fanIn(number of runs).
+ */
+public class ExternalSort {
+  private static final int DEFAULT_FAN_IN = 64;
+  private static final int MIN_BUFFER = 1 << 16;
+  private static final int MAX_BUFFER = 1 << 23;
+  private static final int STRING_OVERHEAD = 56; // header, array, reference.
+
+  // a sorted run file, read one string at a time.
+  private static class Run implements Closeable {
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private String current; // null once the run is used up.
+
+    private Run(Path path, int bufferBytes) throws IOException {
+      this.path = path;
+      channel = FileChannel.open(path, StandardOpenOption.READ);
+      buffer = ByteBuffer.allocate(bufferBytes);
+      buffer.flip(); // empty.
+    }
+
+    // moves to the next string; returns false at the end of the run.
+    private boolean advance() throws IOException {
+      if(!fill(4)) {
+        current = null;
+        return false;
+      }
+      byte[] bytes = new byte[buffer.getInt()];
+      for(int at = 0; at < bytes.length;) {
+        if(!buffer.hasRemaining() && !fill(1)) {
+          throw new EOFException(path + " ends inside a string");
+        }
+        int n = Math.min(buffer.remaining(), bytes.length - at);
+        buffer.get(bytes, at, n);
+        at += n;
+      }
+      current = new String(bytes, StandardCharsets.UTF_8);
+      return true;
+    }
+
+    // reads until n bytes are buffered; false if the file ends first with
+    // nothing buffered.
+    private boolean fill(int n) throws IOException {
+      if(buffer.remaining() >= n) {
+        return true;
+      }
+      buffer.compact();
+      while(buffer.position() < n) {
+        if(channel.read(buffer) < 0) {
+          break;
+        }
+      }
+      buffer.flip();
+      if(buffer.remaining() >= n) {
+        return true;
+      }
+      if(buffer.hasRemaining()) {
+        throw new EOFException(path + " ends inside a record");
+      }
+      return false;
+    }
+
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+
+  // a file written sequentially through one large buffer.
+  private static class Output implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    private Output(Path path, int bufferBytes) throws IOException {
+      channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                 StandardOpenOption.WRITE,
+                                 StandardOpenOption.TRUNCATE_EXISTING);
+      buffer = ByteBuffer.allocate(bufferBytes);
+    }
+
+    // a run record: the byte count, then the bytes.
+    private void writeRecord(String s) throws IOException {
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      if(buffer.remaining() < 4) {
+        drain();
+      }
+      buffer.putInt(bytes.length);
+      write(bytes);
+    }
+
+    // an output line.
+    private void writeLine(String s) throws IOException {
+      write(s.getBytes(StandardCharsets.UTF_8));
+      if(!buffer.hasRemaining()) {
+        drain();
+      }
+      buffer.put((byte) '\n');
+    }
+
+    private void write(byte[] bytes) throws IOException {
+      if(bytes.length > buffer.remaining()) {
+        drain();
+        if(bytes.length > buffer.capacity()) {
+          ByteBuffer whole = ByteBuffer.wrap(bytes);
+          while(whole.hasRemaining()) {
+            channel.write(whole);
+          }
+          return;
+        }
+      }
+      buffer.put(bytes);
+    }
+
+    private void drain() throws IOException {
+      buffer.flip();
+      while(buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    public void close() throws IOException {
+      try {
+        drain();
+      }
+      finally {
+        channel.close();
+      }
+    }
+  }
+
+  /**
+   * Sorts the whitespace-separated strings in input into output, one per
+   * line, using about memoryBytes of heap and merging at most fanIn runs
+   * at a time. Temporary run files go in tempDir and are deleted.
+   * @throws java.lang.IllegalArgumentException if fanIn < 2 or memoryBytes
+   * is too small to buffer fanIn runs.
+   */
+  public static void sort(Path input, Path output, long memoryBytes,
+                          int fanIn, Path tempDir) throws IOException {
+    if(fanIn < 2) {
+      throw new IllegalArgumentException("fanIn < 2");
+    }
+    // at most 3/8 of the budget goes to buffers while writing runs.
+    long ioBuffer = Math.min(MAX_BUFFER, Math.min(memoryBytes / (fanIn + 1),
+                                                  memoryBytes / 8));
+    if(ioBuffer < MIN_BUFFER) {
+      throw new IllegalArgumentException("memory budget too small for "
+                                         + fanIn + " runs");
+    }
+    List<Path> created = new ArrayList<Path>(); // every temporary file.
+    try {
+      // the input's char buffer and the run's output buffer come first.
+      writeRuns(input, memoryBytes - 3 * ioBuffer, (int) ioBuffer, tempDir,
+                created);
+      List<Path> runs = new ArrayList<Path>(created);
+      // merge fanIn runs at a time until one pass can finish the job.
+      while(runs.size() > fanIn) {
+        List<Path> merged = new ArrayList<Path>();
+        for(int i = 0; i < runs.size(); i += fanIn) {
+          List<Path> group = runs.subList(i, Math.min(i + fanIn,
+                                                      runs.size()));
+          Path run = Files.createTempFile(tempDir, "run", ".bin");
+          created.add(run);
+          merged.add(run);
+          merge(group, run, true, (int) ioBuffer);
+          for(Path p : group) {
+            Files.delete(p); // free the disk space as we go.
+          }
+        }
+        runs = merged;
+      }
+      merge(runs, output, false, (int) ioBuffer);
+    }
+    finally {
+      for(Path p : created) {
+        Files.deleteIfExists(p);
+      }
+    }
+  }
+
+  // reads input in chunks of about chunkBytes, sorts each, and writes each
+  // to a new run file, added to runs.
+  private static void writeRuns(Path input, long chunkBytes, int ioBuffer,
+                                Path tempDir, List<Path> runs)
+    throws IOException {
+    String[] chunk = new String[1024];
+    int N = 0;
+    long bytes = 0;
+    StringBuilder token = new StringBuilder();
+    char[] chars = new char[MIN_BUFFER];
+    try(BufferedReader in = new BufferedReader(
+          new InputStreamReader(Files.newInputStream(input),
+                                StandardCharsets.UTF_8), ioBuffer)) {
+      for(int n = in.read(chars); ; n = in.read(chars)) {
+        for(int i = 0; i < n; ++i) {
+          if(!Character.isWhitespace(chars[i])) {
+            token.append(chars[i]);
+            continue;
+          }
+          if(token.length() == 0) {
+            continue;
+          }
+          if(N == chunk.length) {
+            chunk = Arrays.copyOf(chunk, 2 * N);
+          }
+          chunk[N++] = token.toString();
+          bytes += STRING_OVERHEAD + 2L * token.length();
+          token.setLength(0);
+          if(bytes >= chunkBytes) {
+            runs.add(writeRun(chunk, N, ioBuffer, tempDir));
+            Arrays.fill(chunk, 0, N, null);
+            N = 0;
+            bytes = 0;
+          }
+        }
+        if(n < 0) {
+          break;
+        }
+      }
+    }
+    if(token.length() > 0) {
+      if(N == chunk.length) {
+        chunk = Arrays.copyOf(chunk, N + 1);
+      }
+      chunk[N++] = token.toString();
+    }
+    if(N > 0 || runs.isEmpty()) {
+      runs.add(writeRun(chunk, N, ioBuffer, tempDir));
+    }
+  }
+
+  private static Path writeRun(String[] chunk, int N, int ioBuffer,
+                               Path tempDir) throws IOException {
+    String[] a = (N == chunk.length) ? chunk : Arrays.copyOf(chunk, N);
+    Example.sort(a);
+    Path run = Files.createTempFile(tempDir, "run", ".bin");
+    try(Output out = new Output(run, ioBuffer)) {
+      for(String s : a) {
+        out.writeRecord(s);
+      }
+    }
+    return run;
+  }
+
+  // k-way merges the runs into output, as a run file or as lines.
+  private static void merge(List<Path> runs, Path output, boolean asRun,
+                            int ioBuffer) throws IOException {
+    PriorityQueue<Run> pq = new PriorityQueue<Run>(
+      Math.max(1, runs.size()), new Comparator<Run>() {
+        public int compare(Run v, Run w) {
+          return v.current.compareTo(w.current);
+        }
+      });
+    List<Run> open = new ArrayList<Run>();
+    try(Output out = new Output(output, ioBuffer)) {
+      for(Path p : runs) {
+        Run run = new Run(p, ioBuffer);
+        open.add(run);
+        if(run.advance()) {
+          pq.add(run);
+        }
+      }
+      while(!pq.isEmpty()) {
+        Run min = pq.poll();
+        if(asRun) {
+          out.writeRecord(min.current);
+        }
+        else {
+          out.writeLine(min.current);
+        }
+        if(min.advance()) {
+          pq.add(min);
+        }
+      }
+    }
+    finally {
+      for(Run run : open) {
+        run.close();
+      }
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path input = Paths.get(args[0]);
+    Path output = Paths.get(args[1]).toAbsolutePath();
+    long memory = (args.length > 2)
+      ? Long.parseLong(args[2]) << 20 : Runtime.getRuntime().maxMemory() / 3;
+    int fanIn = (args.length > 3)
+      ? Integer.parseInt(args[3]) : DEFAULT_FAN_IN;
+    Stopwatch timer = new Stopwatch();
+    sort(input, output, memory, fanIn, output.getParent());
+    StdOut.printf("sorted %s in %.2f s\n", input, timer.elapsedTime());
+  }
+}
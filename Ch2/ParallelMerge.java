@@ -0,0 +1,688 @@
+/*************************************************************************
+ *  Compilation:  javac ParallelMerge.java
+ *  Execution:    java ParallelMerge < input.txt
+ *  Updated:      Oct. 18/26
+ *  
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Fork-join mergesort for Comparable[], double[], int[] and long[].
+ *
+ *************************************************************************/
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ *  @author Brendan Duke
+ *  Both halves are sorted in parallel, then merged in parallel: the
+ *  longer run is split at its middle item, a binary search finds where
+ *  that item goes in the other run, and the two sides are merged as
+ *  separate tasks. Each level sorts into the other of a and one aux array,
+ *  so there is no sequential copy. Subarrays up to SORT_CUTOFF items are
+ *  sorted sequentially, and merges up to MERGE_CUTOFF items are sequential.
+ *  Stable. Doubles are ordered as by Double.compare(): -0.0 before 0.0,
+ *  and NaN after everything.
+ */
+public class ParallelMerge {
+  private static final int SORT_CUTOFF = 1 << 13;
+  private static final int MERGE_CUTOFF = 1 << 13;
+  private static final int INSERTION_CUTOFF = 7;
+
+  /**
+   * Rearranges the array in ascending order, using the common pool.
+   */
+  public static <T extends Comparable<? super T>>
+  void sort(T[] a) {
+    sort(a, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the given pool.
+   */
+  public static <T extends Comparable<? super T>>
+  void sort(T[] a, ForkJoinPool pool) {
+    @SuppressWarnings("unchecked") // only ever holds items of a.
+    T[] aux = (T[]) new Comparable<?>[a.length];
+    pool.invoke(new SortObjects<T>(a, aux, 0, a.length, true));
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the common pool.
+   */
+  public static void sort(double[] a) {
+    sort(a, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the given pool.
+   */
+  public static void sort(double[] a, ForkJoinPool pool) {
+    double[] aux = new double[a.length];
+    pool.invoke(new SortDoubles(a, aux, 0, a.length, true));
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the common pool.
+   */
+  public static void sort(int[] a) {
+    sort(a, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the given pool.
+   */
+  public static void sort(int[] a, ForkJoinPool pool) {
+    int[] aux = new int[a.length];
+    pool.invoke(new SortInts(a, aux, 0, a.length, true));
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the common pool.
+   */
+  public static void sort(long[] a) {
+    sort(a, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the given pool.
+   */
+  public static void sort(long[] a, ForkJoinPool pool) {
+    long[] aux = new long[a.length];
+    pool.invoke(new SortLongs(a, aux, 0, a.length, true));
+  }
+
+  // sorts a[lo..hi-1], leaving the result in a if intoA, else in aux.
+  private static class SortObjects<T extends Comparable<? super T>>
+    extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final T[] a;
+    private final T[] aux;
+    private final int lo;
+    private final int hi;
+    private final boolean intoA;
+
+    private SortObjects(T[] a, T[] aux, int lo, int hi, boolean intoA) {
+      this.a = a;
+      this.aux = aux;
+      this.lo = lo;
+      this.hi = hi;
+      this.intoA = intoA;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo <= SORT_CUTOFF) {
+        sequential(a, aux, lo, hi - 1);
+        if(!intoA) {
+          System.arraycopy(a, lo, aux, lo, hi - lo);
+        }
+        return;
+      }
+      // sort the halves into the other array, then merge them back.
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new SortObjects<T>(a, aux, lo, mid, !intoA),
+                new SortObjects<T>(a, aux, mid, hi, !intoA));
+      T[] from = intoA ? aux : a;
+      T[] to = intoA ? a : aux;
+      new MergeObjects<T>(from, lo, mid, mid, hi, to, lo).compute();
+    }
+  }
+
+  // merges the sorted from[lo1..hi1-1] and from[lo2..hi2-1] into to[at..],
+  // taking equal keys from the first run first.
+  private static class MergeObjects<T extends Comparable<? super T>>
+    extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final T[] from;
+    private final int lo1;
+    private final int hi1;
+    private final int lo2;
+    private final int hi2;
+    private final T[] to;
+    private final int at;
+
+    private MergeObjects(T[] from, int lo1, int hi1, int lo2, int hi2,
+                         T[] to, int at) {
+      this.from = from;
+      this.lo1 = lo1;
+      this.hi1 = hi1;
+      this.lo2 = lo2;
+      this.hi2 = hi2;
+      this.to = to;
+      this.at = at;
+    }
+
+    @Override
+    protected void compute() {
+      int n1 = hi1 - lo1;
+      int n2 = hi2 - lo2;
+      if(n1 + n2 <= MERGE_CUTOFF) {
+        int i = lo1;
+        int j = lo2;
+        for(int k = at; k < at + n1 + n2; ++k) {
+          if(i == hi1) {
+            to[k] = from[j++];
+          }
+          else if(j == hi2 || !less(from[j], from[i])) {
+            to[k] = from[i++];
+          }
+          else {
+            to[k] = from[j++];
+          }
+        }
+        return;
+      }
+      // split the longer run at its middle item, find where that item
+      // goes in the other run, and merge both sides of it in parallel.
+      int m1;
+      int m2;
+      if(n1 >= n2) {
+        m1 = (lo1 + hi1) >>> 1;
+        m2 = lowerBound(from, lo2, hi2, from[m1]);
+        to[at + (m1 - lo1) + (m2 - lo2)] = from[m1];
+        invokeAll(new MergeObjects<T>(from, lo1, m1, lo2, m2, to, at),
+                  new MergeObjects<T>(from, m1 + 1, hi1, m2, hi2, to,
+                               at + (m1 - lo1) + (m2 - lo2) + 1));
+      }
+      else {
+        m2 = (lo2 + hi2) >>> 1;
+        m1 = upperBound(from, lo1, hi1, from[m2]);
+        to[at + (m1 - lo1) + (m2 - lo2)] = from[m2];
+        invokeAll(new MergeObjects<T>(from, lo1, m1, lo2, m2, to, at),
+                  new MergeObjects<T>(from, m1, hi1, m2 + 1, hi2, to,
+                               at + (m1 - lo1) + (m2 - lo2) + 1));
+      }
+    }
+  }
+
+  // the first index in the sorted a[lo..hi-1] with a[i] >= key, or hi.
+  private static <T extends Comparable<? super T>>
+  int lowerBound(T[] a, int lo, int hi, T key) {
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(less(a[mid], key)) {
+        lo = mid + 1;
+      }
+      else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  // the first index in the sorted a[lo..hi-1] with a[i] > key, or hi.
+  private static <T extends Comparable<? super T>>
+  int upperBound(T[] a, int lo, int hi, T key) {
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(less(key, a[mid])) {
+        hi = mid;
+      }
+      else {
+        lo = mid + 1;
+      }
+    }
+    return lo;
+  }
+
+  // sorts a[lo..hi-1], leaving the result in a if intoA, else in aux.
+  private static class SortDoubles extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final double[] a;
+    private final double[] aux;
+    private final int lo;
+    private final int hi;
+    private final boolean intoA;
+
+    private SortDoubles(double[] a, double[] aux, int lo, int hi, boolean intoA) {
+      this.a = a;
+      this.aux = aux;
+      this.lo = lo;
+      this.hi = hi;
+      this.intoA = intoA;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo <= SORT_CUTOFF) {
+        PrimitiveMerge.sort(a, aux, lo, hi - 1);
+        if(!intoA) {
+          System.arraycopy(a, lo, aux, lo, hi - lo);
+        }
+        return;
+      }
+      // sort the halves into the other array, then merge them back.
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new SortDoubles(a, aux, lo, mid, !intoA),
+                new SortDoubles(a, aux, mid, hi, !intoA));
+      double[] from = intoA ? aux : a;
+      double[] to = intoA ? a : aux;
+      new MergeDoubles(from, lo, mid, mid, hi, to, lo).compute();
+    }
+  }
+
+  // merges the sorted from[lo1..hi1-1] and from[lo2..hi2-1] into to[at..],
+  // taking equal keys from the first run first.
+  private static class MergeDoubles extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final double[] from;
+    private final int lo1;
+    private final int hi1;
+    private final int lo2;
+    private final int hi2;
+    private final double[] to;
+    private final int at;
+
+    private MergeDoubles(double[] from, int lo1, int hi1, int lo2, int hi2,
+                     double[] to, int at) {
+      this.from = from;
+      this.lo1 = lo1;
+      this.hi1 = hi1;
+      this.lo2 = lo2;
+      this.hi2 = hi2;
+      this.to = to;
+      this.at = at;
+    }
+
+    @Override
+    protected void compute() {
+      int n1 = hi1 - lo1;
+      int n2 = hi2 - lo2;
+      if(n1 + n2 <= MERGE_CUTOFF) {
+        int i = lo1;
+        int j = lo2;
+        for(int k = at; k < at + n1 + n2; ++k) {
+          if(i == hi1) {
+            to[k] = from[j++];
+          }
+          else if(j == hi2 || !less(from[j], from[i])) {
+            to[k] = from[i++];
+          }
+          else {
+            to[k] = from[j++];
+          }
+        }
+        return;
+      }
+      // split the longer run at its middle item, find where that item
+      // goes in the other run, and merge both sides of it in parallel.
+      int m1;
+      int m2;
+      if(n1 >= n2) {
+        m1 = (lo1 + hi1) >>> 1;
+        m2 = lowerBound(from, lo2, hi2, from[m1]);
+        to[at + (m1 - lo1) + (m2 - lo2)] = from[m1];
+        invokeAll(new MergeDoubles(from, lo1, m1, lo2, m2, to, at),
+                  new MergeDoubles(from, m1 + 1, hi1, m2, hi2, to,
+                               at + (m1 - lo1) + (m2 - lo2) + 1));
+      }
+      else {
+        m2 = (lo2 + hi2) >>> 1;
+        m1 = upperBound(from, lo1, hi1, from[m2]);
+        to[at + (m1 - lo1) + (m2 - lo2)] = from[m2];
+        invokeAll(new MergeDoubles(from, lo1, m1, lo2, m2, to, at),
+                  new MergeDoubles(from, m1, hi1, m2 + 1, hi2, to,
+                               at + (m1 - lo1) + (m2 - lo2) + 1));
+      }
+    }
+  }
+
+  // the first index in the sorted a[lo..hi-1] with a[i] >= key, or hi.
+  private static int lowerBound(double[] a, int lo, int hi, double key) {
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(less(a[mid], key)) {
+        lo = mid + 1;
+      }
+      else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  // the first index in the sorted a[lo..hi-1] with a[i] > key, or hi.
+  private static int upperBound(double[] a, int lo, int hi, double key) {
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(less(key, a[mid])) {
+        hi = mid;
+      }
+      else {
+        lo = mid + 1;
+      }
+    }
+    return lo;
+  }
+
+  // sorts a[lo..hi-1], leaving the result in a if intoA, else in aux.
+  private static class SortInts extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final int[] a;
+    private final int[] aux;
+    private final int lo;
+    private final int hi;
+    private final boolean intoA;
+
+    private SortInts(int[] a, int[] aux, int lo, int hi, boolean intoA) {
+      this.a = a;
+      this.aux = aux;
+      this.lo = lo;
+      this.hi = hi;
+      this.intoA = intoA;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo <= SORT_CUTOFF) {
+        PrimitiveMerge.sort(a, aux, lo, hi - 1);
+        if(!intoA) {
+          System.arraycopy(a, lo, aux, lo, hi - lo);
+        }
+        return;
+      }
+      // sort the halves into the other array, then merge them back.
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new SortInts(a, aux, lo, mid, !intoA),
+                new SortInts(a, aux, mid, hi, !intoA));
+      int[] from = intoA ? aux : a;
+      int[] to = intoA ? a : aux;
+      new MergeInts(from, lo, mid, mid, hi, to, lo).compute();
+    }
+  }
+
+  // merges the sorted from[lo1..hi1-1] and from[lo2..hi2-1] into to[at..],
+  // taking equal keys from the first run first.
+  private static class MergeInts extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final int[] from;
+    private final int lo1;
+    private final int hi1;
+    private final int lo2;
+    private final int hi2;
+    private final int[] to;
+    private final int at;
+
+    private MergeInts(int[] from, int lo1, int hi1, int lo2, int hi2,
+                     int[] to, int at) {
+      this.from = from;
+      this.lo1 = lo1;
+      this.hi1 = hi1;
+      this.lo2 = lo2;
+      this.hi2 = hi2;
+      this.to = to;
+      this.at = at;
+    }
+
+    @Override
+    protected void compute() {
+      int n1 = hi1 - lo1;
+      int n2 = hi2 - lo2;
+      if(n1 + n2 <= MERGE_CUTOFF) {
+        int i = lo1;
+        int j = lo2;
+        for(int k = at; k < at + n1 + n2; ++k) {
+          if(i == hi1) {
+            to[k] = from[j++];
+          }
+          else if(j == hi2 || !less(from[j], from[i])) {
+            to[k] = from[i++];
+          }
+          else {
+            to[k] = from[j++];
+          }
+        }
+        return;
+      }
+      // split the longer run at its middle item, find where that item
+      // goes in the other run, and merge both sides of it in parallel.
+      int m1;
+      int m2;
+      if(n1 >= n2) {
+        m1 = (lo1 + hi1) >>> 1;
+        m2 = lowerBound(from, lo2, hi2, from[m1]);
+        to[at + (m1 - lo1) + (m2 - lo2)] = from[m1];
+        invokeAll(new MergeInts(from, lo1, m1, lo2, m2, to, at),
+                  new MergeInts(from, m1 + 1, hi1, m2, hi2, to,
+                               at + (m1 - lo1) + (m2 - lo2) + 1));
+      }
+      else {
+        m2 = (lo2 + hi2) >>> 1;
+        m1 = upperBound(from, lo1, hi1, from[m2]);
+        to[at + (m1 - lo1) + (m2 - lo2)] = from[m2];
+        invokeAll(new MergeInts(from, lo1, m1, lo2, m2, to, at),
+                  new MergeInts(from, m1, hi1, m2 + 1, hi2, to,
+                               at + (m1 - lo1) + (m2 - lo2) + 1));
+      }
+    }
+  }
+
+  // the first index in the sorted a[lo..hi-1] with a[i] >= key, or hi.
+  private static int lowerBound(int[] a, int lo, int hi, int key) {
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(less(a[mid], key)) {
+        lo = mid + 1;
+      }
+      else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  // the first index in the sorted a[lo..hi-1] with a[i] > key, or hi.
+  private static int upperBound(int[] a, int lo, int hi, int key) {
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(less(key, a[mid])) {
+        hi = mid;
+      }
+      else {
+        lo = mid + 1;
+      }
+    }
+    return lo;
+  }
+
+  // sorts a[lo..hi-1], leaving the result in a if intoA, else in aux.
+  private static class SortLongs extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final long[] a;
+    private final long[] aux;
+    private final int lo;
+    private final int hi;
+    private final boolean intoA;
+
+    private SortLongs(long[] a, long[] aux, int lo, int hi, boolean intoA) {
+      this.a = a;
+      this.aux = aux;
+      this.lo = lo;
+      this.hi = hi;
+      this.intoA = intoA;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo <= SORT_CUTOFF) {
+        PrimitiveMerge.sort(a, aux, lo, hi - 1);
+        if(!intoA) {
+          System.arraycopy(a, lo, aux, lo, hi - lo);
+        }
+        return;
+      }
+      // sort the halves into the other array, then merge them back.
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new SortLongs(a, aux, lo, mid, !intoA),
+                new SortLongs(a, aux, mid, hi, !intoA));
+      long[] from = intoA ? aux : a;
+      long[] to = intoA ? a : aux;
+      new MergeLongs(from, lo, mid, mid, hi, to, lo).compute();
+    }
+  }
+
+  // merges the sorted from[lo1..hi1-1] and from[lo2..hi2-1] into to[at..],
+  // taking equal keys from the first run first.
+  private static class MergeLongs extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final long[] from;
+    private final int lo1;
+    private final int hi1;
+    private final int lo2;
+    private final int hi2;
+    private final long[] to;
+    private final int at;
+
+    private MergeLongs(long[] from, int lo1, int hi1, int lo2, int hi2,
+                     long[] to, int at) {
+      this.from = from;
+      this.lo1 = lo1;
+      this.hi1 = hi1;
+      this.lo2 = lo2;
+      this.hi2 = hi2;
+      this.to = to;
+      this.at = at;
+    }
+
+    @Override
+    protected void compute() {
+      int n1 = hi1 - lo1;
+      int n2 = hi2 - lo2;
+      if(n1 + n2 <= MERGE_CUTOFF) {
+        int i = lo1;
+        int j = lo2;
+        for(int k = at; k < at + n1 + n2; ++k) {
+          if(i == hi1) {
+            to[k] = from[j++];
+          }
+          else if(j == hi2 || !less(from[j], from[i])) {
+            to[k] = from[i++];
+          }
+          else {
+            to[k] = from[j++];
+          }
+        }
+        return;
+      }
+      // split the longer run at its middle item, find where that item
+      // goes in the other run, and merge both sides of it in parallel.
+      int m1;
+      int m2;
+      if(n1 >= n2) {
+        m1 = (lo1 + hi1) >>> 1;
+        m2 = lowerBound(from, lo2, hi2, from[m1]);
+        to[at + (m1 - lo1) + (m2 - lo2)] = from[m1];
+        invokeAll(new MergeLongs(from, lo1, m1, lo2, m2, to, at),
+                  new MergeLongs(from, m1 + 1, hi1, m2, hi2, to,
+                               at + (m1 - lo1) + (m2 - lo2) + 1));
+      }
+      else {
+        m2 = (lo2 + hi2) >>> 1;
+        m1 = upperBound(from, lo1, hi1, from[m2]);
+        to[at + (m1 - lo1) + (m2 - lo2)] = from[m2];
+        invokeAll(new MergeLongs(from, lo1, m1, lo2, m2, to, at),
+                  new MergeLongs(from, m1, hi1, m2 + 1, hi2, to,
+                               at + (m1 - lo1) + (m2 - lo2) + 1));
+      }
+    }
+  }
+
+  // the first index in the sorted a[lo..hi-1] with a[i] >= key, or hi.
+  private static int lowerBound(long[] a, int lo, int hi, long key) {
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(less(a[mid], key)) {
+        lo = mid + 1;
+      }
+      else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  // the first index in the sorted a[lo..hi-1] with a[i] > key, or hi.
+  private static int upperBound(long[] a, int lo, int hi, long key) {
+    while(lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if(less(key, a[mid])) {
+        hi = mid;
+      }
+      else {
+        lo = mid + 1;
+      }
+    }
+    return lo;
+  }
+
+  // top-down mergesort of a[lo..hi] using aux[lo..hi], with insertion sort
+  // for small subarrays.
+  private static <T extends Comparable<? super T>>
+  void sequential(T[] a, T[] aux, int lo,
+                                 int hi) {
+    if(hi <= lo + INSERTION_CUTOFF) {
+      for(int i = lo + 1; i <= hi; ++i) {
+        T v = a[i];
+        int j = i;
+        for(; j > lo && less(v, a[j-1]); --j) {
+          a[j] = a[j-1];
+        }
+        a[j] = v;
+      }
+      return;
+    }
+    int mid = lo + (hi - lo)/2;
+    sequential(a, aux, lo, mid);
+    sequential(a, aux, mid + 1, hi);
+    if(!less(a[mid+1], a[mid])) {
+      return;
+    }
+    System.arraycopy(a, lo, aux, lo, hi - lo + 1);
+    int i = lo;
+    int j = mid + 1;
+    for(int k = lo; k <= hi; ++k) {
+      if(i > mid) {
+        a[k] = aux[j++];
+      }
+      else if(j > hi) {
+        a[k] = aux[i++];
+      }
+      else if(less(aux[j], aux[i])) {
+        a[k] = aux[j++];
+      }
+      else {
+        a[k] = aux[i++];
+      }
+    }
+  }
+
+  private static <T extends Comparable<? super T>>
+  boolean less(T v, T w) {
+    return v.compareTo(w) < 0;
+  }
+
+  // same order as Double.compare: -0.0 < 0.0, and NaN is biggest.
+  private static boolean less(double v, double w) {
+    return Double.compare(v, w) < 0;
+  }
+
+  private static boolean less(int v, int w) {
+    return v < w;
+  }
+
+  private static boolean less(long v, long w) {
+    return v < w;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    // Read doubles from standard input, sort them, and print.
+    double[] a = StdIn.readAllDoubles();
+    sort(a);
+    for(int i = 0; i < a.length; ++i) {
+      StdOut.print(a[i] + " ");
+    }
+    StdOut.println();
+  }
+}
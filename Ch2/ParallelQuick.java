@@ -0,0 +1,430 @@
+/*************************************************************************
+ *  Compilation:  javac ParallelQuick.java
+ *  Execution:    java ParallelQuick < input.txt
+ *  Updated:      Oct. 18/26
+ *  
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Fork-join 3-way quicksort for Comparable[], double[], int[] and long[].
+ *
+ *************************************************************************/
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ *  @author Brendan Duke
+ *  Each partition picks a random pivot and splits the subarray into
+ *  items less than, equal to and greater than it (Dijkstra's 3-way
+ *  partitioning), so inputs with many duplicate keys are fast. The less
+ *  and greater sides are sorted as parallel tasks down to SORT_CUTOFF
+ *  items, then sequentially. Partitioning itself is sequential, so the
+ *  top levels limit the speedup more than in ParallelMerge. Not stable.
+ *  Doubles are ordered as by Double.compare(): -0.0 before 0.0, and NaN
+ *  after everything.
+ */
+public class ParallelQuick {
+  private static final int SORT_CUTOFF = 1 << 13;
+  private static final int INSERTION_CUTOFF = 10;
+
+  /**
+   * Rearranges the array in ascending order, using the common pool.
+   */
+  public static <T extends Comparable<? super T>>
+  void sort(T[] a) {
+    sort(a, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the given pool.
+   */
+  public static <T extends Comparable<? super T>>
+  void sort(T[] a, ForkJoinPool pool) {
+    pool.invoke(new SortObjects<T>(a, 0, a.length - 1));
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the common pool.
+   */
+  public static void sort(double[] a) {
+    sort(a, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the given pool.
+   */
+  public static void sort(double[] a, ForkJoinPool pool) {
+    pool.invoke(new SortDoubles(a, 0, a.length - 1));
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the common pool.
+   */
+  public static void sort(int[] a) {
+    sort(a, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the given pool.
+   */
+  public static void sort(int[] a, ForkJoinPool pool) {
+    pool.invoke(new SortInts(a, 0, a.length - 1));
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the common pool.
+   */
+  public static void sort(long[] a) {
+    sort(a, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Rearranges the array in ascending order, using the given pool.
+   */
+  public static void sort(long[] a, ForkJoinPool pool) {
+    pool.invoke(new SortLongs(a, 0, a.length - 1));
+  }
+
+  // sorts a[lo..hi], splitting off the two sides of each partition.
+  private static class SortObjects<T extends Comparable<? super T>>
+    extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final T[] a;
+    private final int lo;
+    private final int hi;
+
+    private SortObjects(T[] a, int lo, int hi) {
+      this.a = a;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo < SORT_CUTOFF) {
+        sequential(a, lo, hi);
+        return;
+      }
+      long bounds = partition(a, lo, hi);
+      invokeAll(new SortObjects<T>(a, lo, (int) (bounds >>> 32) - 1),
+                new SortObjects<T>(a, (int) bounds + 1, hi));
+    }
+  }
+
+  private static <T extends Comparable<? super T>>
+  void sequential(T[] a, int lo, int hi) {
+    while(hi > lo + INSERTION_CUTOFF) {
+      long bounds = partition(a, lo, hi);
+      int lt = (int) (bounds >>> 32);
+      int gt = (int) bounds;
+      // recurse on the smaller side, so the stack stays O(log N).
+      if(lt - lo < hi - gt) {
+        sequential(a, lo, lt - 1);
+        lo = gt + 1;
+      }
+      else {
+        sequential(a, gt + 1, hi);
+        hi = lt - 1;
+      }
+    }
+    insertion(a, lo, hi);
+  }
+
+  // 3-way partitions a[lo..hi] around a random item v, so that
+  // a[lo..lt-1] < v = a[lt..gt] < a[gt+1..hi]. Returns lt and gt packed
+  // into a long.
+  private static <T extends Comparable<? super T>>
+  long partition(T[] a, int lo, int hi) {
+    exch(a, lo, ThreadLocalRandom.current().nextInt(lo, hi + 1));
+    int lt = lo;
+    int gt = hi;
+    T v = a[lo];
+    int i = lo + 1;
+    while(i <= gt) {
+      int cmp = compare(a[i], v);
+      if(cmp < 0) {
+        exch(a, lt++, i++);
+      }
+      else if(cmp > 0) {
+        exch(a, i, gt--);
+      }
+      else {
+        ++i;
+      }
+    }
+    return ((long) lt << 32) | gt;
+  }
+
+  // sorts a[lo..hi], splitting off the two sides of each partition.
+  private static class SortDoubles extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final double[] a;
+    private final int lo;
+    private final int hi;
+
+    private SortDoubles(double[] a, int lo, int hi) {
+      this.a = a;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo < SORT_CUTOFF) {
+        sequential(a, lo, hi);
+        return;
+      }
+      long bounds = partition(a, lo, hi);
+      invokeAll(new SortDoubles(a, lo, (int) (bounds >>> 32) - 1),
+                new SortDoubles(a, (int) bounds + 1, hi));
+    }
+  }
+
+  private static void sequential(double[] a, int lo, int hi) {
+    while(hi > lo + INSERTION_CUTOFF) {
+      long bounds = partition(a, lo, hi);
+      int lt = (int) (bounds >>> 32);
+      int gt = (int) bounds;
+      // recurse on the smaller side, so the stack stays O(log N).
+      if(lt - lo < hi - gt) {
+        sequential(a, lo, lt - 1);
+        lo = gt + 1;
+      }
+      else {
+        sequential(a, gt + 1, hi);
+        hi = lt - 1;
+      }
+    }
+    PrimitiveInsertion.sort(a, lo, hi);
+  }
+
+  // 3-way partitions a[lo..hi] around a random item v, so that
+  // a[lo..lt-1] < v = a[lt..gt] < a[gt+1..hi]. Returns lt and gt packed
+  // into a long.
+  private static long partition(double[] a, int lo, int hi) {
+    exch(a, lo, ThreadLocalRandom.current().nextInt(lo, hi + 1));
+    int lt = lo;
+    int gt = hi;
+    double v = a[lo];
+    int i = lo + 1;
+    while(i <= gt) {
+      int cmp = compare(a[i], v);
+      if(cmp < 0) {
+        exch(a, lt++, i++);
+      }
+      else if(cmp > 0) {
+        exch(a, i, gt--);
+      }
+      else {
+        ++i;
+      }
+    }
+    return ((long) lt << 32) | gt;
+  }
+
+  // sorts a[lo..hi], splitting off the two sides of each partition.
+  private static class SortInts extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final int[] a;
+    private final int lo;
+    private final int hi;
+
+    private SortInts(int[] a, int lo, int hi) {
+      this.a = a;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo < SORT_CUTOFF) {
+        sequential(a, lo, hi);
+        return;
+      }
+      long bounds = partition(a, lo, hi);
+      invokeAll(new SortInts(a, lo, (int) (bounds >>> 32) - 1),
+                new SortInts(a, (int) bounds + 1, hi));
+    }
+  }
+
+  private static void sequential(int[] a, int lo, int hi) {
+    while(hi > lo + INSERTION_CUTOFF) {
+      long bounds = partition(a, lo, hi);
+      int lt = (int) (bounds >>> 32);
+      int gt = (int) bounds;
+      // recurse on the smaller side, so the stack stays O(log N).
+      if(lt - lo < hi - gt) {
+        sequential(a, lo, lt - 1);
+        lo = gt + 1;
+      }
+      else {
+        sequential(a, gt + 1, hi);
+        hi = lt - 1;
+      }
+    }
+    PrimitiveInsertion.sort(a, lo, hi);
+  }
+
+  // 3-way partitions a[lo..hi] around a random item v, so that
+  // a[lo..lt-1] < v = a[lt..gt] < a[gt+1..hi]. Returns lt and gt packed
+  // into a long.
+  private static long partition(int[] a, int lo, int hi) {
+    exch(a, lo, ThreadLocalRandom.current().nextInt(lo, hi + 1));
+    int lt = lo;
+    int gt = hi;
+    int v = a[lo];
+    int i = lo + 1;
+    while(i <= gt) {
+      int cmp = compare(a[i], v);
+      if(cmp < 0) {
+        exch(a, lt++, i++);
+      }
+      else if(cmp > 0) {
+        exch(a, i, gt--);
+      }
+      else {
+        ++i;
+      }
+    }
+    return ((long) lt << 32) | gt;
+  }
+
+  // sorts a[lo..hi], splitting off the two sides of each partition.
+  private static class SortLongs extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final long[] a;
+    private final int lo;
+    private final int hi;
+
+    private SortLongs(long[] a, int lo, int hi) {
+      this.a = a;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if(hi - lo < SORT_CUTOFF) {
+        sequential(a, lo, hi);
+        return;
+      }
+      long bounds = partition(a, lo, hi);
+      invokeAll(new SortLongs(a, lo, (int) (bounds >>> 32) - 1),
+                new SortLongs(a, (int) bounds + 1, hi));
+    }
+  }
+
+  private static void sequential(long[] a, int lo, int hi) {
+    while(hi > lo + INSERTION_CUTOFF) {
+      long bounds = partition(a, lo, hi);
+      int lt = (int) (bounds >>> 32);
+      int gt = (int) bounds;
+      // recurse on the smaller side, so the stack stays O(log N).
+      if(lt - lo < hi - gt) {
+        sequential(a, lo, lt - 1);
+        lo = gt + 1;
+      }
+      else {
+        sequential(a, gt + 1, hi);
+        hi = lt - 1;
+      }
+    }
+    PrimitiveInsertion.sort(a, lo, hi);
+  }
+
+  // 3-way partitions a[lo..hi] around a random item v, so that
+  // a[lo..lt-1] < v = a[lt..gt] < a[gt+1..hi]. Returns lt and gt packed
+  // into a long.
+  private static long partition(long[] a, int lo, int hi) {
+    exch(a, lo, ThreadLocalRandom.current().nextInt(lo, hi + 1));
+    int lt = lo;
+    int gt = hi;
+    long v = a[lo];
+    int i = lo + 1;
+    while(i <= gt) {
+      int cmp = compare(a[i], v);
+      if(cmp < 0) {
+        exch(a, lt++, i++);
+      }
+      else if(cmp > 0) {
+        exch(a, i, gt--);
+      }
+      else {
+        ++i;
+      }
+    }
+    return ((long) lt << 32) | gt;
+  }
+
+  private static <T extends Comparable<? super T>>
+  void insertion(T[] a, int lo, int hi) {
+    for(int i = lo + 1; i <= hi; ++i) {
+      T v = a[i];
+      int j = i;
+      for(; j > lo && less(v, a[j-1]); --j) {
+        a[j] = a[j-1];
+      }
+      a[j] = v;
+    }
+  }
+
+  private static <T extends Comparable<? super T>>
+  boolean less(T v, T w) {
+    return v.compareTo(w) < 0;
+  }
+
+  private static <T extends Comparable<? super T>>
+  int compare(T v, T w) {
+    return v.compareTo(w);
+  }
+
+  private static int compare(double v, double w) {
+    return Double.compare(v, w);
+  }
+
+  private static int compare(int v, int w) {
+    return Integer.compare(v, w);
+  }
+
+  private static int compare(long v, long w) {
+    return Long.compare(v, w);
+  }
+
+  private static <T>
+  void exch(T[] a, int i, int j) {
+    T temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static void exch(double[] a, int i, int j) {
+    double temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static void exch(int[] a, int i, int j) {
+    int temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static void exch(long[] a, int i, int j) {
+    long temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    // Read doubles from standard input, sort them, and print.
+    double[] a = StdIn.readAllDoubles();
+    sort(a);
+    for(int i = 0; i < a.length; ++i) {
+      StdOut.print(a[i] + " ");
+    }
+    StdOut.println();
+  }
+}
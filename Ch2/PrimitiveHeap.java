@@ -0,0 +1,181 @@
+/*************************************************************************
+ *  Compilation:  javac PrimitiveHeap.java
+ *  Execution:    java PrimitiveHeap < input.txt
+ *  Updated:      Oct. 18/26
+ *  
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Heapsort for double[], int[] and long[], without boxing.
+ *
+ *************************************************************************/
+
+/**
+ *  @author Brendan Duke
+ *  Sinks by moving items instead of exchanging them. Doubles are ordered
+ *  as by Double.compare(): -0.0 before 0.0, and NaN after everything.
+ */
+public class PrimitiveHeap {
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(double[] a) {
+    int N = a.length;
+    for(int k = N/2; k >= 1; --k) {
+      sink(a, k, N);
+    }
+    while(N > 1) {
+      exch(a, 0, N - 1); // 1-based indices 1 and N.
+      sink(a, 1, --N);
+    }
+  }
+
+  // sinks 1-based position k in the heap a[0..N-1].
+  private static void sink(double[] a, int k, int N) {
+    double v = a[k-1];
+    while(2*k <= N) {
+      int j = 2*k;
+      if(j < N && less(a[j-1], a[j])) {
+        ++j;
+      }
+      if(!less(v, a[j-1])) {
+        break;
+      }
+      a[k-1] = a[j-1];
+      k = j;
+    }
+    a[k-1] = v;
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(int[] a) {
+    int N = a.length;
+    for(int k = N/2; k >= 1; --k) {
+      sink(a, k, N);
+    }
+    while(N > 1) {
+      exch(a, 0, N - 1); // 1-based indices 1 and N.
+      sink(a, 1, --N);
+    }
+  }
+
+  // sinks 1-based position k in the heap a[0..N-1].
+  private static void sink(int[] a, int k, int N) {
+    int v = a[k-1];
+    while(2*k <= N) {
+      int j = 2*k;
+      if(j < N && less(a[j-1], a[j])) {
+        ++j;
+      }
+      if(!less(v, a[j-1])) {
+        break;
+      }
+      a[k-1] = a[j-1];
+      k = j;
+    }
+    a[k-1] = v;
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(long[] a) {
+    int N = a.length;
+    for(int k = N/2; k >= 1; --k) {
+      sink(a, k, N);
+    }
+    while(N > 1) {
+      exch(a, 0, N - 1); // 1-based indices 1 and N.
+      sink(a, 1, --N);
+    }
+  }
+
+  // sinks 1-based position k in the heap a[0..N-1].
+  private static void sink(long[] a, int k, int N) {
+    long v = a[k-1];
+    while(2*k <= N) {
+      int j = 2*k;
+      if(j < N && less(a[j-1], a[j])) {
+        ++j;
+      }
+      if(!less(v, a[j-1])) {
+        break;
+      }
+      a[k-1] = a[j-1];
+      k = j;
+    }
+    a[k-1] = v;
+  }
+
+  // same order as Double.compare: -0.0 < 0.0, and NaN is biggest.
+  private static boolean less(double v, double w) {
+    return Double.compare(v, w) < 0;
+  }
+
+  private static boolean less(int v, int w) {
+    return v < w;
+  }
+
+  private static boolean less(long v, long w) {
+    return v < w;
+  }
+
+  private static void exch(double[] a, int i, int j) {
+    double temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static void exch(int[] a, int i, int j) {
+    int temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static void exch(long[] a, int i, int j) {
+    long temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static boolean isSorted(double[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(int[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(long[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    // Read doubles from standard input, sort them, and print.
+    double[] a = StdIn.readAllDoubles();
+    sort(a);
+    assert isSorted(a);
+    for(int i = 0; i < a.length; ++i) {
+      StdOut.print(a[i] + " ");
+    }
+    StdOut.println();
+  }
+}
@@ -0,0 +1,127 @@
+/*************************************************************************
+ *  Compilation:  javac PrimitiveInsertion.java
+ *  Execution:    java PrimitiveInsertion < input.txt
+ *  Updated:      Oct. 18/26
+ *  
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Insertion sort for double[], int[] and long[], without boxing.
+ *
+ *************************************************************************/
+
+/**
+ *  @author Brendan Duke
+ *  Doubles are ordered as by Double.compare(): -0.0 before 0.0, and NaN
+ *  after everything, so the result matches Arrays.sort().
+ */
+public class PrimitiveInsertion {
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(double[] a) {
+    sort(a, 0, a.length - 1);
+  }
+
+  // sorts a[lo..hi], moving larger items right instead of exchanging.
+  static void sort(double[] a, int lo, int hi) {
+    for(int i = lo + 1; i <= hi; ++i) {
+      double v = a[i];
+      int j = i;
+      for(; j > lo && less(v, a[j-1]); --j) {
+        a[j] = a[j-1];
+      }
+      a[j] = v;
+    }
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(int[] a) {
+    sort(a, 0, a.length - 1);
+  }
+
+  // sorts a[lo..hi], moving larger items right instead of exchanging.
+  static void sort(int[] a, int lo, int hi) {
+    for(int i = lo + 1; i <= hi; ++i) {
+      int v = a[i];
+      int j = i;
+      for(; j > lo && less(v, a[j-1]); --j) {
+        a[j] = a[j-1];
+      }
+      a[j] = v;
+    }
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(long[] a) {
+    sort(a, 0, a.length - 1);
+  }
+
+  // sorts a[lo..hi], moving larger items right instead of exchanging.
+  static void sort(long[] a, int lo, int hi) {
+    for(int i = lo + 1; i <= hi; ++i) {
+      long v = a[i];
+      int j = i;
+      for(; j > lo && less(v, a[j-1]); --j) {
+        a[j] = a[j-1];
+      }
+      a[j] = v;
+    }
+  }
+
+  // same order as Double.compare: -0.0 < 0.0, and NaN is biggest.
+  private static boolean less(double v, double w) {
+    return Double.compare(v, w) < 0;
+  }
+
+  private static boolean less(int v, int w) {
+    return v < w;
+  }
+
+  private static boolean less(long v, long w) {
+    return v < w;
+  }
+
+  private static boolean isSorted(double[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(int[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(long[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    // Read doubles from standard input, sort them, and print.
+    double[] a = StdIn.readAllDoubles();
+    sort(a);
+    assert isSorted(a);
+    for(int i = 0; i < a.length; ++i) {
+      StdOut.print(a[i] + " ");
+    }
+    StdOut.println();
+  }
+}
@@ -0,0 +1,206 @@
+/*************************************************************************
+ *  Compilation:  javac PrimitiveMerge.java
+ *  Execution:    java PrimitiveMerge < input.txt
+ *  Updated:      Oct. 18/26
+ *  
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Top-down mergesort for double[], int[] and long[], without boxing.
+ *
+ *************************************************************************/
+
+/**
+ *  @author Brendan Duke
+ *  Allocates one aux array per sort, switches to insertion sort for small
+ *  subarrays, and skips the merge when the halves are already in order.
+ *  Stable. Doubles are ordered as by Double.compare(): -0.0 before 0.0,
+ *  and NaN after everything.
+ */
+public class PrimitiveMerge {
+  private static final int CUTOFF = 7; // insertion sort up to this size.
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(double[] a) {
+    double[] aux = new double[a.length];
+    sort(a, aux, 0, a.length - 1);
+  }
+
+  // sorts a[lo..hi] using aux[lo..hi].
+  static void sort(double[] a, double[] aux, int lo, int hi) {
+    if(hi <= lo + CUTOFF) {
+      PrimitiveInsertion.sort(a, lo, hi);
+      return;
+    }
+    int mid = lo + (hi - lo)/2;
+    sort(a, aux, lo, mid);
+    sort(a, aux, mid + 1, hi);
+    if(!less(a[mid+1], a[mid])) {
+      return; // already in order.
+    }
+    merge(a, aux, lo, mid, hi);
+  }
+
+  // merges the sorted a[lo..mid] and a[mid+1..hi], using aux[lo..hi].
+  static void merge(double[] a, double[] aux, int lo, int mid, int hi) {
+    System.arraycopy(a, lo, aux, lo, hi - lo + 1);
+    int i = lo;
+    int j = mid + 1;
+    for(int k = lo; k <= hi; ++k) {
+      if(i > mid) {
+        a[k] = aux[j++];
+      }
+      else if(j > hi) {
+        a[k] = aux[i++];
+      }
+      else if(less(aux[j], aux[i])) {
+        a[k] = aux[j++];
+      }
+      else {
+        a[k] = aux[i++];
+      }
+    }
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(int[] a) {
+    int[] aux = new int[a.length];
+    sort(a, aux, 0, a.length - 1);
+  }
+
+  // sorts a[lo..hi] using aux[lo..hi].
+  static void sort(int[] a, int[] aux, int lo, int hi) {
+    if(hi <= lo + CUTOFF) {
+      PrimitiveInsertion.sort(a, lo, hi);
+      return;
+    }
+    int mid = lo + (hi - lo)/2;
+    sort(a, aux, lo, mid);
+    sort(a, aux, mid + 1, hi);
+    if(!less(a[mid+1], a[mid])) {
+      return; // already in order.
+    }
+    merge(a, aux, lo, mid, hi);
+  }
+
+  // merges the sorted a[lo..mid] and a[mid+1..hi], using aux[lo..hi].
+  static void merge(int[] a, int[] aux, int lo, int mid, int hi) {
+    System.arraycopy(a, lo, aux, lo, hi - lo + 1);
+    int i = lo;
+    int j = mid + 1;
+    for(int k = lo; k <= hi; ++k) {
+      if(i > mid) {
+        a[k] = aux[j++];
+      }
+      else if(j > hi) {
+        a[k] = aux[i++];
+      }
+      else if(less(aux[j], aux[i])) {
+        a[k] = aux[j++];
+      }
+      else {
+        a[k] = aux[i++];
+      }
+    }
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(long[] a) {
+    long[] aux = new long[a.length];
+    sort(a, aux, 0, a.length - 1);
+  }
+
+  // sorts a[lo..hi] using aux[lo..hi].
+  static void sort(long[] a, long[] aux, int lo, int hi) {
+    if(hi <= lo + CUTOFF) {
+      PrimitiveInsertion.sort(a, lo, hi);
+      return;
+    }
+    int mid = lo + (hi - lo)/2;
+    sort(a, aux, lo, mid);
+    sort(a, aux, mid + 1, hi);
+    if(!less(a[mid+1], a[mid])) {
+      return; // already in order.
+    }
+    merge(a, aux, lo, mid, hi);
+  }
+
+  // merges the sorted a[lo..mid] and a[mid+1..hi], using aux[lo..hi].
+  static void merge(long[] a, long[] aux, int lo, int mid, int hi) {
+    System.arraycopy(a, lo, aux, lo, hi - lo + 1);
+    int i = lo;
+    int j = mid + 1;
+    for(int k = lo; k <= hi; ++k) {
+      if(i > mid) {
+        a[k] = aux[j++];
+      }
+      else if(j > hi) {
+        a[k] = aux[i++];
+      }
+      else if(less(aux[j], aux[i])) {
+        a[k] = aux[j++];
+      }
+      else {
+        a[k] = aux[i++];
+      }
+    }
+  }
+
+  // same order as Double.compare: -0.0 < 0.0, and NaN is biggest.
+  private static boolean less(double v, double w) {
+    return Double.compare(v, w) < 0;
+  }
+
+  private static boolean less(int v, int w) {
+    return v < w;
+  }
+
+  private static boolean less(long v, long w) {
+    return v < w;
+  }
+
+  private static boolean isSorted(double[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(int[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(long[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    // Read doubles from standard input, sort them, and print.
+    double[] a = StdIn.readAllDoubles();
+    sort(a);
+    assert isSorted(a);
+    for(int i = 0; i < a.length; ++i) {
+      StdOut.print(a[i] + " ");
+    }
+    StdOut.println();
+  }
+}
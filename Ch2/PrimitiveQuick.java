@@ -0,0 +1,246 @@
+/*************************************************************************
+ *  Compilation:  javac PrimitiveQuick.java
+ *  Execution:    java PrimitiveQuick < input.txt
+ *  Updated:      Oct. 18/26
+ *  
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Quicksort for double[], int[] and long[], without boxing.
+ *
+ *************************************************************************/
+
+import java.util.SplittableRandom;
+
+/**
+ *  @author Brendan Duke
+ *  Shuffles first, so the running time doesn't depend on the input order,
+ *  and switches to insertion sort for small subarrays. Doubles are ordered
+ *  as by Double.compare(): -0.0 before 0.0, and NaN after everything.
+ */
+public class PrimitiveQuick {
+  private static final int CUTOFF = 10; // insertion sort up to this size.
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(double[] a) {
+    shuffle(a);
+    sort(a, 0, a.length - 1);
+  }
+
+  private static void sort(double[] a, int lo, int hi) {
+    if(hi <= lo + CUTOFF) {
+      PrimitiveInsertion.sort(a, lo, hi);
+      return;
+    }
+    int j = partition(a, lo, hi);
+    sort(a, lo, j - 1);
+    sort(a, j + 1, hi);
+  }
+
+  // partitions a[lo..hi] around a[lo], stopping on equal keys so that
+  // many duplicates still split evenly.
+  private static int partition(double[] a, int lo, int hi) {
+    int i = lo;
+    int j = hi + 1;
+    double v = a[lo];
+    for(;;) {
+      while(less(a[++i], v)) {
+        if(i == hi) {
+          break;
+        }
+      }
+      while(less(v, a[--j])) {
+        if(j == lo) {
+          break;
+        }
+      }
+      if(i >= j) {
+        break;
+      }
+      exch(a, i, j);
+    }
+    exch(a, lo, j);
+    return j;
+  }
+
+  private static void shuffle(double[] a) {
+    SplittableRandom random = new SplittableRandom();
+    for(int i = a.length - 1; i > 0; --i) {
+      exch(a, i, random.nextInt(i + 1));
+    }
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(int[] a) {
+    shuffle(a);
+    sort(a, 0, a.length - 1);
+  }
+
+  private static void sort(int[] a, int lo, int hi) {
+    if(hi <= lo + CUTOFF) {
+      PrimitiveInsertion.sort(a, lo, hi);
+      return;
+    }
+    int j = partition(a, lo, hi);
+    sort(a, lo, j - 1);
+    sort(a, j + 1, hi);
+  }
+
+  // partitions a[lo..hi] around a[lo], stopping on equal keys so that
+  // many duplicates still split evenly.
+  private static int partition(int[] a, int lo, int hi) {
+    int i = lo;
+    int j = hi + 1;
+    int v = a[lo];
+    for(;;) {
+      while(less(a[++i], v)) {
+        if(i == hi) {
+          break;
+        }
+      }
+      while(less(v, a[--j])) {
+        if(j == lo) {
+          break;
+        }
+      }
+      if(i >= j) {
+        break;
+      }
+      exch(a, i, j);
+    }
+    exch(a, lo, j);
+    return j;
+  }
+
+  private static void shuffle(int[] a) {
+    SplittableRandom random = new SplittableRandom();
+    for(int i = a.length - 1; i > 0; --i) {
+      exch(a, i, random.nextInt(i + 1));
+    }
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(long[] a) {
+    shuffle(a);
+    sort(a, 0, a.length - 1);
+  }
+
+  private static void sort(long[] a, int lo, int hi) {
+    if(hi <= lo + CUTOFF) {
+      PrimitiveInsertion.sort(a, lo, hi);
+      return;
+    }
+    int j = partition(a, lo, hi);
+    sort(a, lo, j - 1);
+    sort(a, j + 1, hi);
+  }
+
+  // partitions a[lo..hi] around a[lo], stopping on equal keys so that
+  // many duplicates still split evenly.
+  private static int partition(long[] a, int lo, int hi) {
+    int i = lo;
+    int j = hi + 1;
+    long v = a[lo];
+    for(;;) {
+      while(less(a[++i], v)) {
+        if(i == hi) {
+          break;
+        }
+      }
+      while(less(v, a[--j])) {
+        if(j == lo) {
+          break;
+        }
+      }
+      if(i >= j) {
+        break;
+      }
+      exch(a, i, j);
+    }
+    exch(a, lo, j);
+    return j;
+  }
+
+  private static void shuffle(long[] a) {
+    SplittableRandom random = new SplittableRandom();
+    for(int i = a.length - 1; i > 0; --i) {
+      exch(a, i, random.nextInt(i + 1));
+    }
+  }
+
+  // same order as Double.compare: -0.0 < 0.0, and NaN is biggest.
+  private static boolean less(double v, double w) {
+    return Double.compare(v, w) < 0;
+  }
+
+  private static boolean less(int v, int w) {
+    return v < w;
+  }
+
+  private static boolean less(long v, long w) {
+    return v < w;
+  }
+
+  private static void exch(double[] a, int i, int j) {
+    double temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static void exch(int[] a, int i, int j) {
+    int temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static void exch(long[] a, int i, int j) {
+    long temp = a[i];
+    a[i] = a[j];
+    a[j] = temp;
+  }
+
+  private static boolean isSorted(double[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(int[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(long[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    // Read doubles from standard input, sort them, and print.
+    double[] a = StdIn.readAllDoubles();
+    sort(a);
+    assert isSorted(a);
+    for(int i = 0; i < a.length; ++i) {
+      StdOut.print(a[i] + " ");
+    }
+    StdOut.println();
+  }
+}
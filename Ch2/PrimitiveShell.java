@@ -0,0 +1,136 @@
+/*************************************************************************
+ *  Compilation:  javac PrimitiveShell.java
+ *  Execution:    java PrimitiveShell < input.txt
+ *  Updated:      Oct. 18/26
+ *  
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  Shellsort for double[], int[] and long[], without boxing.
+ *
+ *************************************************************************/
+
+/**
+ *  @author Brendan Duke
+ *  Uses the 3h+1 increments. Doubles are ordered as by Double.compare():
+ *  -0.0 before 0.0, and NaN after everything.
+ */
+public class PrimitiveShell {
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(double[] a) {
+    int N = a.length;
+    int h = 1;
+    while(h < N/3) {
+      h = 3*h + 1; // 1, 4, 13, 40, 121, 364, ...
+    }
+    for(; h >= 1; h /= 3) {
+      // h-sort the array, moving items instead of exchanging.
+      for(int i = h; i < N; ++i) {
+        double v = a[i];
+        int j = i;
+        for(; j >= h && less(v, a[j-h]); j -= h) {
+          a[j] = a[j-h];
+        }
+        a[j] = v;
+      }
+    }
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(int[] a) {
+    int N = a.length;
+    int h = 1;
+    while(h < N/3) {
+      h = 3*h + 1; // 1, 4, 13, 40, 121, 364, ...
+    }
+    for(; h >= 1; h /= 3) {
+      // h-sort the array, moving items instead of exchanging.
+      for(int i = h; i < N; ++i) {
+        int v = a[i];
+        int j = i;
+        for(; j >= h && less(v, a[j-h]); j -= h) {
+          a[j] = a[j-h];
+        }
+        a[j] = v;
+      }
+    }
+  }
+
+  /**
+   * Rearranges the array in ascending order.
+   */
+  public static void sort(long[] a) {
+    int N = a.length;
+    int h = 1;
+    while(h < N/3) {
+      h = 3*h + 1; // 1, 4, 13, 40, 121, 364, ...
+    }
+    for(; h >= 1; h /= 3) {
+      // h-sort the array, moving items instead of exchanging.
+      for(int i = h; i < N; ++i) {
+        long v = a[i];
+        int j = i;
+        for(; j >= h && less(v, a[j-h]); j -= h) {
+          a[j] = a[j-h];
+        }
+        a[j] = v;
+      }
+    }
+  }
+
+  // same order as Double.compare: -0.0 < 0.0, and NaN is biggest.
+  private static boolean less(double v, double w) {
+    return Double.compare(v, w) < 0;
+  }
+
+  private static boolean less(int v, int w) {
+    return v < w;
+  }
+
+  private static boolean less(long v, long w) {
+    return v < w;
+  }
+
+  private static boolean isSorted(double[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(int[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSorted(long[] a) {
+    for(int i = 1; i < a.length; ++i) {
+      if(less(a[i], a[i-1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // NOTE(brendan): testing
+  public static void main(String[] args) {
+    // Read doubles from standard input, sort them, and print.
+    double[] a = StdIn.readAllDoubles();
+    sort(a);
+    assert isSorted(a);
+    for(int i = 0; i < a.length; ++i) {
+      StdOut.print(a[i] + " ");
+    }
+    StdOut.println();
+  }
+}
@@ -1,15 +1,28 @@
 /*************************************************************************
  *  Compilation:  javac SortCompare.java
  *  Execution:    java SortCompare alg1 alg2 numberOfValues numberOfArrays
+ *                java SortCompare -primitive alg numberOfValues numberOfArrays
+ *                java SortCompare -parallel numberOfValues numberOfArrays
  *  e.g. java SortCompare Shell Merge 100000 10
- *  Updated:      Jan. 27/15
+ *       java SortCompare -primitive Merge 1000000 10
+ *       java SortCompare ParallelMerge ParallelSort 10000000 10
+ *  Updated:      Oct. 18/26
  *  
  *  May require I/O library files from Sedgewicks "Algorithms".
  *  http://algs4.cs.princeton.edu/code/
  *
+ *  ParallelMerge and ParallelQuick run on the common ForkJoinPool;
+ *  ParallelSort is Arrays.parallelSort(), to compare them against.
+ *  -parallel does that comparison for both, on Double[] and double[].
+ *  With -primitive, compares alg on double[] (the Primitive* sorts)
+ *  against alg on Double[], sorting the same values.
+ *
+ *  Quick single-shot comparison. See jmh/ (sortbench.SortBenchmark) for
+ *  warmed-up, forked JMH measurements over several input distributions.
  *
  *************************************************************************/
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -17,30 +30,130 @@ import java.util.NoSuchElementException;
  *  @author Brendan Duke
  */
 public class SortCompare {
-  // NOTE(brendan): testing
-  public static double time(String alg, Double[] a) {
-    Stopwatch timer = new Stopwatch();
+  /**
+   * The names of the algorithms sort() dispatches to.
+   */
+  public static final String[] ALGORITHMS = {
+    "Insertion", "Selection", "Shell", "Merge", "Quick", "Heap",
+    "ParallelMerge", "ParallelQuick", "ParallelSort", "Example"
+  };
+
+  /**
+   * Sorts a with the algorithm named alg.
+   * @throws java.lang.IllegalArgumentException if alg isn't in ALGORITHMS
+   */
+  public static void sort(String alg, Double[] a) {
     if(alg.equals("Insertion")) {
       Insertion.sort(a);
     }
-    if(alg.equals("Selection")) {
+    else if(alg.equals("Selection")) {
       Selection.sort(a);
     }
-    if(alg.equals("Shell")) {
+    else if(alg.equals("Shell")) {
       Shell.sort(a);
     }
-    if(alg.equals("Merge")) {
+    else if(alg.equals("Merge")) {
       Merge.sort(a);
     }
-    if(alg.equals("Quick")) {
+    else if(alg.equals("Quick")) {
       Quick.sort(a);
     }
-    if(alg.equals("Heap")) {
+    else if(alg.equals("Heap")) {
       Heap.sort(a);
     }
+    else if(alg.equals("ParallelMerge")) {
+      ParallelMerge.sort(a);
+    }
+    else if(alg.equals("ParallelQuick")) {
+      ParallelQuick.sort(a);
+    }
+    else if(alg.equals("ParallelSort")) {
+      Arrays.parallelSort(a);
+    }
+    else if(alg.equals("Example")) {
+      Example.sort(a);
+    }
+    else {
+      throw new IllegalArgumentException("unknown algorithm " + alg);
+    }
+  }
+
+  /**
+   * The names of the algorithms with a double[] version.
+   */
+  public static final String[] PRIMITIVE_ALGORITHMS = {
+    "Insertion", "Shell", "Merge", "Quick", "Heap",
+    "ParallelMerge", "ParallelQuick", "ParallelSort"
+  };
+
+  /**
+   * Sorts a with the primitive version of the algorithm named alg.
+   * @throws java.lang.IllegalArgumentException if alg isn't in
+   * PRIMITIVE_ALGORITHMS
+   */
+  public static void sort(String alg, double[] a) {
+    if(alg.equals("Insertion")) {
+      PrimitiveInsertion.sort(a);
+    }
+    else if(alg.equals("Shell")) {
+      PrimitiveShell.sort(a);
+    }
+    else if(alg.equals("Merge")) {
+      PrimitiveMerge.sort(a);
+    }
+    else if(alg.equals("Quick")) {
+      PrimitiveQuick.sort(a);
+    }
+    else if(alg.equals("Heap")) {
+      PrimitiveHeap.sort(a);
+    }
+    else if(alg.equals("ParallelMerge")) {
+      ParallelMerge.sort(a);
+    }
+    else if(alg.equals("ParallelQuick")) {
+      ParallelQuick.sort(a);
+    }
+    else if(alg.equals("ParallelSort")) {
+      Arrays.parallelSort(a);
+    }
+    else {
+      throw new IllegalArgumentException("no primitive " + alg);
+    }
+  }
+
+  // NOTE(brendan): testing
+  public static double time(String alg, Double[] a) {
+    Stopwatch timer = new Stopwatch();
+    sort(alg, a);
     return timer.elapsedTime();
   }
 
+  public static double time(String alg, double[] a) {
+    Stopwatch timer = new Stopwatch();
+    sort(alg, a);
+    return timer.elapsedTime();
+  }
+
+  /**
+   * Sorts T random arrays of length N with alg, each once as Double[] and
+   * once as double[] holding the same values.
+   * @return the total times, boxed first and then primitive.
+   */
+  public static double[] timeBoxedAndPrimitive(String alg, int N, int T) {
+    double[] totals = new double[2];
+    double[] a = new double[N];
+    Double[] boxed = new Double[N];
+    for(int t = 0; t < T; ++t) {
+      for(int i = 0; i < N; ++i) {
+        a[i] = StdRandom.uniform();
+        boxed[i] = a[i];
+      }
+      totals[0] += time(alg, boxed);
+      totals[1] += time(alg, a);
+    }
+    return totals;
+  }
+
   public static double timeRandomInput(String alg, int N, int T) {
     // Use alg to sort T random arrays of length N.
     double total = 0.0;
@@ -55,7 +168,45 @@ public class SortCompare {
     return total;
   }
 
+  public static double timeRandomPrimitiveInput(String alg, int N, int T) {
+    // Use alg to sort T random double[]s of length N.
+    double total = 0.0;
+    double[] a = new double[N];
+    for(int t = 0; t < T; ++t) {
+      for(int i = 0; i < N; ++i) {
+        a[i] = StdRandom.uniform();
+      }
+      total += time(alg, a);
+    }
+    return total;
+  }
+
   public static void main(String[] args) {
+    if(args[0].equals("-parallel")) {
+      int N = Integer.parseInt(args[1]);
+      int T = Integer.parseInt(args[2]);
+      double boxed = timeRandomInput("ParallelSort", N, T);
+      double primitive = timeRandomPrimitiveInput("ParallelSort", N, T);
+      StdOut.printf("For %d random values on %d cores, speedup over "
+                    + "Arrays.parallelSort\n", N,
+                    Runtime.getRuntime().availableProcessors());
+      for(String alg : new String[] { "ParallelMerge", "ParallelQuick" }) {
+        StdOut.printf("    %-14s Double[] %.2f  double[] %.2f\n", alg,
+                      boxed/timeRandomInput(alg, N, T),
+                      primitive/timeRandomPrimitiveInput(alg, N, T));
+      }
+      return;
+    }
+    if(args[0].equals("-primitive")) {
+      String alg = args[1];
+      int N = Integer.parseInt(args[2]);
+      int T = Integer.parseInt(args[3]);
+      double[] totals = timeBoxedAndPrimitive(alg, N, T);
+      StdOut.printf("For %d random doubles\n    primitive %s is", N, alg);
+      StdOut.printf(" %.1f times faster than boxed %s\n",
+                    totals[0]/totals[1], alg);
+      return;
+    }
     String alg1 = args[0];
     String alg2 = args[1];
     int N = Integer.parseInt(args[2]);
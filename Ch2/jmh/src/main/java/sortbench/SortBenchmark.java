@@ -0,0 +1,197 @@
+/*************************************************************************
+ *  Compilation:  mvn -f Ch2/jmh/pom.xml package
+ *  Execution:    java -jar Ch2/jmh/target/benchmarks.jar [JMH options]
+ *  e.g. java -jar Ch2/jmh/target/benchmarks.jar -p alg=Shell,Merge,Quick
+ *         -p N=10000,100000 -prof gc -rf json -rff sort.json
+ *  Updated:      Oct. 18/26
+ *
+ *  May require I/O library files from Sedgewicks "Algorithms".
+ *  http://algs4.cs.princeton.edu/code/
+ *
+ *  JMH benchmarks for the algorithms SortCompare dispatches to, over
+ *  every combination of algorithm, input distribution and N (narrow them
+ *  with -p), plus copy(), which only copies the input, as a baseline.
+ *  Each benchmark reports the average time per sort and, from sampled
+ *  sorts, its percentiles. -prof gc adds the allocation rate
+ *  (gc.alloc.rate, and gc.alloc.rate.norm per sort) and GC counts;
+ *  -rf json -rff file.json writes the results for regression tracking.
+ *  Distributions: random, sorted, reversed, fewDistinct, sawtooth,
+ *  partial (sorted, then 1% of the items swapped at random), zipf.
+ *
+ *************************************************************************/
+
+package sortbench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *  @author Brendan Duke
+ *  Every algorithm sorts the same inputs (the seed is fixed). The input
+ *  is copied into a preallocated array inside each measured sort, not in
+ *  a Level.Invocation setup: most of the grid takes well under a
+ *  millisecond per sort, where JMH's per-invocation timestamps would land
+ *  in the score and skew the SampleTime percentiles. copy() measures the
+ *  copy alone, for the same distribution and N, so subtract its score
+ *  from sort()'s to get the time of the sort itself. The copy allocates
+ *  nothing, so gc.alloc.rate.norm is the sort's own.
+ *  JMH won't run benchmarks in the default package, and a named package
+ *  can't refer to the default-package SortCompare, so SortCompare.sort is
+ *  looked up once per trial as a MethodHandle; calling it costs next to nothing
+ *  beside a sort.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SortBenchmark {
+  private static final long SEED = 2015;
+
+  /**
+   * The input, and the array each sort works on.
+   */
+  @State(Scope.Thread)
+  public static class Input {
+    @Param({"random", "sorted", "reversed", "fewDistinct", "sawtooth",
+            "partial", "zipf"})
+    public String distribution;
+
+    @Param({"1000", "10000"})
+    public int N;
+
+    private Double[] input;
+    private Double[] a; // sorted in place.
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      input = input(distribution, N, SEED);
+      a = new Double[N];
+    }
+
+    // a fresh copy of the input, in a.
+    private Double[] copy() {
+      System.arraycopy(input, 0, a, 0, N);
+      return a;
+    }
+  }
+
+  /**
+   * The algorithm, one of the names in SortCompare.ALGORITHMS.
+   */
+  @State(Scope.Thread)
+  public static class Algorithm {
+    @Param({"Insertion", "Selection", "Shell", "Merge", "Quick", "Heap",
+            "ParallelMerge", "ParallelQuick", "ParallelSort", "Example"})
+    public String alg;
+
+    private MethodHandle sort; // SortCompare.sort(alg, ...), on a Double[].
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+      MethodHandle dispatch = MethodHandles.publicLookup().findStatic(
+        Class.forName("SortCompare"), "sort",
+        MethodType.methodType(void.class, String.class, Double[].class));
+      sort = MethodHandles.insertArguments(dispatch, 0, alg);
+    }
+  }
+
+  @Benchmark
+  public Double[] sort(Input in, Algorithm alg) throws Throwable {
+    Double[] a = in.copy();
+    alg.sort.invokeExact(a);
+    return a;
+  }
+
+  // the baseline to subtract from sort().
+  @Benchmark
+  public Double[] copy(Input in) {
+    return in.copy();
+  }
+
+  /**
+   * Returns N Doubles drawn from the named distribution.
+   * @throws java.lang.IllegalArgumentException for an unknown distribution
+   */
+  public static Double[] input(String distribution, int N, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    double[] a = new double[N];
+    if(distribution.equals("random")) {
+      for(int i = 0; i < N; ++i) {
+        a[i] = random.nextDouble();
+      }
+    }
+    else if(distribution.equals("sorted")) {
+      for(int i = 0; i < N; ++i) {
+        a[i] = i;
+      }
+    }
+    else if(distribution.equals("reversed")) {
+      for(int i = 0; i < N; ++i) {
+        a[i] = N - i;
+      }
+    }
+    else if(distribution.equals("fewDistinct")) {
+      for(int i = 0; i < N; ++i) {
+        a[i] = random.nextInt(10);
+      }
+    }
+    else if(distribution.equals("sawtooth")) {
+      int period = Math.max(1, N / 16); // 16 ascending runs.
+      for(int i = 0; i < N; ++i) {
+        a[i] = i % period;
+      }
+    }
+    else if(distribution.equals("partial")) {
+      for(int i = 0; i < N; ++i) {
+        a[i] = i;
+      }
+      for(int swaps = 0; N > 0 && swaps < N / 100 + 1; ++swaps) {
+        int i = random.nextInt(N);
+        int j = random.nextInt(N);
+        double temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+      }
+    }
+    else if(distribution.equals("zipf")) {
+      // rank k (1..N) has probability proportional to 1/k.
+      double[] cumulative = new double[N];
+      double total = 0.0;
+      for(int k = 0; k < N; ++k) {
+        total += 1.0 / (k + 1);
+        cumulative[k] = total;
+      }
+      for(int i = 0; i < N; ++i) {
+        int k = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+        a[i] = (k >= 0) ? k : -k - 1;
+      }
+    }
+    else {
+      throw new IllegalArgumentException("unknown distribution "
+                                         + distribution);
+    }
+    Double[] boxed = new Double[N];
+    for(int i = 0; i < N; ++i) {
+      boxed[i] = a[i];
+    }
+    return boxed;
+  }
+}